@@ -1,10 +1,11 @@
 package com.xetpy;
 
+import com.xetpy.client.LivesHud;
 import net.fabricmc.api.ClientModInitializer;
 
 public class LimitedLifesClient implements ClientModInitializer {
 	@Override
 	public void onInitializeClient() {
-		// This entrypoint is suitable for setting up client-specific logic, such as rendering.
+		LivesHud.register();
 	}
-}
\ No newline at end of file
+}
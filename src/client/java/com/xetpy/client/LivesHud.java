@@ -0,0 +1,68 @@
+package com.xetpy.client;
+
+import com.xetpy.network.LivesSyncPayload;
+import com.xetpy.network.LivesTiersPayload;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayNetworking;
+import net.fabricmc.fabric.api.client.rendering.v1.hud.HudElementRegistry;
+import net.fabricmc.fabric.api.client.rendering.v1.hud.VanillaHudElements;
+import net.minecraft.client.DeltaTracker;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.Identifier;
+
+import java.util.List;
+
+public final class LivesHud {
+	private static final Identifier ID = Identifier.fromNamespaceAndPath("limited-lifes", "lives_hud");
+	private static final int CRITICAL_LIVES = 2;
+	private static final int NORMAL_COLOR = 0xFFFFFFFF;
+	private static final int CRITICAL_COLOR = 0xFFFF5555;
+	private static final int MARGIN = 4;
+
+	private static LivesSyncPayload state;
+	private static List<String> tierIds = List.of();
+	private static Component text = Component.empty();
+
+	private LivesHud() {
+	}
+
+	public static void register() {
+		ClientPlayNetworking.registerGlobalReceiver(LivesSyncPayload.TYPE, (payload, context) -> update(payload));
+		ClientPlayNetworking.registerGlobalReceiver(LivesTiersPayload.TYPE, (payload, context) -> updateTiers(payload));
+		ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> {
+			state = null;
+			tierIds = List.of();
+		});
+		HudElementRegistry.attachElementAfter(VanillaHudElements.HEALTH_BAR, ID, LivesHud::render);
+	}
+
+	private static void update(LivesSyncPayload payload) {
+		int index = payload.tierIndex();
+		String tier = index >= 0 && index < tierIds.size() ? tierIds.get(index) : Integer.toString(index);
+		text = Component.translatable(
+				"hud.limited_lifes.hearts",
+				payload.lives(),
+				payload.maxLives(),
+				Component.translatableWithFallback("hud.limited_lifes.tier." + tier, tier)
+		);
+		state = payload;
+	}
+
+	private static void updateTiers(LivesTiersPayload payload) {
+		tierIds = List.copyOf(payload.tierIds());
+		if (state != null) {
+			update(state);
+		}
+	}
+
+	private static void render(GuiGraphics graphics, DeltaTracker deltaTracker) {
+		LivesSyncPayload current = state;
+		if (current == null) {
+			return;
+		}
+		int color = current.lives() <= CRITICAL_LIVES ? CRITICAL_COLOR : NORMAL_COLOR;
+		graphics.drawString(Minecraft.getInstance().font, text, MARGIN, MARGIN, color);
+	}
+}
@@ -0,0 +1,264 @@
+package com.xetpy.gametest;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.xetpy.LimitedLifes;
+import com.xetpy.api.LivesChangeCause;
+import com.xetpy.lives.LivesRules;
+import com.xetpy.metrics.LivesMetrics;
+import com.xetpy.metrics.LivesPhase;
+import net.fabricmc.fabric.api.event.player.UseBlockCallback;
+import net.fabricmc.fabric.api.gametest.v1.GameTest;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.phys.BlockHitResult;
+import net.minecraft.world.phys.Vec3;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class LivesLoadGameTest {
+    private static final String PLAYERS_PROPERTY = "limitedlifes.loadtest.players";
+    private static final String TICKS_PROPERTY = "limitedlifes.loadtest.ticks";
+    private static final String REPORT_PROPERTY = "limitedlifes.loadtest.report";
+    private static final int DEFAULT_PLAYERS = 200;
+    private static final int DEFAULT_TICKS = 400;
+    private static final int WARMUP_TICKS = 40;
+    private static final int COMMAND_INTERVAL_TICKS = 20;
+    private static final int ACTIONS_PER_TICK_DIVISOR = 50;
+    private static final BlockPos ALTAR = new BlockPos(1, 1, 1);
+    private static final List<String> COMMANDS = List.of(
+            "lives add @a 1",
+            "lives set @r 1",
+            "lives top 10",
+            "lives tier last_heart 10",
+            "lives stats",
+            "lives reset @r"
+    );
+    private static final List<LivesPhase> MOD_PHASES = List.of(
+            LivesPhase.SERVER_TICK,
+            LivesPhase.NOTIFICATION_FLUSH,
+            LivesPhase.SNAPSHOT_PUBLISH,
+            LivesPhase.DEATH,
+            LivesPhase.RITUAL
+    );
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+    @GameTest(maxTicks = 20 * 60 * 5)
+    public void livesServiceUnderLoad(GameTestHelper helper) {
+        int playerCount = Integer.getInteger(PLAYERS_PROPERTY, DEFAULT_PLAYERS);
+        int measuredTicks = Integer.getInteger(TICKS_PROPERTY, DEFAULT_TICKS);
+        Run run = new Run(helper, playerCount, measuredTicks);
+        helper.setBlock(ALTAR, Blocks.ENCHANTING_TABLE);
+        run.spawnPlayers();
+        helper.onEachTick(run::tick);
+        helper.succeedWhen(() -> {
+            if (!run.finished()) {
+                helper.fail("Load run still in progress");
+            }
+        });
+    }
+
+    private static final class Run {
+        private final GameTestHelper helper;
+        private final MinecraftServer server;
+        private final int playerCount;
+        private final int measuredTicks;
+        private final Random random = new Random(0x11FE5L);
+        private final List<ServerPlayer> players = new ArrayList<>();
+        private final long[] modNanosPerTick;
+        private final long[] serverNanosPerTick;
+        private final long[] packetsPerTick;
+        private int tick;
+        private int deaths;
+        private int ritualAttempts;
+        private int commands;
+        private long lastModNanos;
+        private long lastPackets;
+        private boolean finished;
+
+        private Run(GameTestHelper helper, int playerCount, int measuredTicks) {
+            this.helper = helper;
+            this.server = helper.getLevel().getServer();
+            this.playerCount = playerCount;
+            this.measuredTicks = measuredTicks;
+            this.modNanosPerTick = new long[measuredTicks];
+            this.serverNanosPerTick = new long[measuredTicks];
+            this.packetsPerTick = new long[measuredTicks];
+        }
+
+        private void spawnPlayers() {
+            int tiers = LivesRules.MAX_LIVES - LivesRules.MIN_LIVES + 1;
+            for (int i = 0; i < playerCount; i++) {
+                ServerPlayer player = helper.makeMockServerPlayerInLevel();
+                Vec3 position = Vec3.atBottomCenterOf(helper.absolutePos(ALTAR.above()));
+                player.teleportTo(position.x, position.y, position.z);
+                LimitedLifes.livesService().setLives(player, LivesRules.MIN_LIVES + i % tiers, LivesChangeCause.SYSTEM);
+                players.add(player);
+            }
+        }
+
+        private boolean finished() {
+            return finished;
+        }
+
+        private void tick() {
+            if (finished) {
+                return;
+            }
+            int measured = tick - WARMUP_TICKS;
+            if (measured == 0) {
+                lastModNanos = modNanos();
+                lastPackets = LivesMetrics.effectPacketsTotal();
+            }
+            if (measured > 0) {
+                long modNanos = modNanos();
+                long packets = LivesMetrics.effectPacketsTotal();
+                modNanosPerTick[measured - 1] = modNanos - lastModNanos;
+                packetsPerTick[measured - 1] = packets - lastPackets;
+                serverNanosPerTick[measured - 1] = server.getAverageTickTimeNanos();
+                lastModNanos = modNanos;
+                lastPackets = packets;
+                if (measured == measuredTicks) {
+                    writeReport();
+                    finished = true;
+                    return;
+                }
+            }
+
+            int actions = Math.max(1, playerCount / ACTIONS_PER_TICK_DIVISOR);
+            for (int i = 0; i < actions; i++) {
+                killAndRespawn(random.nextInt(players.size()));
+                attemptRitual(random.nextInt(players.size()));
+            }
+            if (tick % COMMAND_INTERVAL_TICKS == 0) {
+                runCommand(COMMANDS.get((tick / COMMAND_INTERVAL_TICKS) % COMMANDS.size()));
+            }
+            tick++;
+        }
+
+        private void killAndRespawn(int index) {
+            ServerPlayer player = players.get(index);
+            player.setItemInHand(InteractionHand.MAIN_HAND, ItemStack.EMPTY);
+            player.setItemInHand(InteractionHand.OFF_HAND, ItemStack.EMPTY);
+            player.hurtServer(helper.getLevel(), player.damageSources().genericKill(), Float.MAX_VALUE);
+            if (player.isDeadOrDying()) {
+                players.set(index, server.getPlayerList().respawn(player, false, Entity.RemovalReason.KILLED));
+                deaths++;
+            }
+        }
+
+        private void attemptRitual(int index) {
+            ServerPlayer player = players.get(index);
+            if (random.nextBoolean()) {
+                player.getInventory().add(new ItemStack(Items.DIAMOND_BLOCK, 8));
+                player.getInventory().add(new ItemStack(Items.TOTEM_OF_UNDYING));
+                player.giveExperienceLevels(20);
+            }
+            player.setItemInHand(InteractionHand.MAIN_HAND, new ItemStack(Items.TOTEM_OF_UNDYING));
+            player.setShiftKeyDown(true);
+            BlockPos altar = helper.absolutePos(ALTAR);
+            BlockHitResult hit = new BlockHitResult(Vec3.atCenterOf(altar), Direction.UP, altar, false);
+            UseBlockCallback.EVENT.invoker().interact(player, helper.getLevel(), InteractionHand.MAIN_HAND, hit);
+            player.setShiftKeyDown(false);
+            ritualAttempts++;
+        }
+
+        private void runCommand(String command) {
+            CommandSourceStack source = server.createCommandSourceStack().withSuppressedOutput();
+            server.getCommands().performPrefixedCommand(source, command);
+            commands++;
+        }
+
+        private static long modNanos() {
+            long total = 0L;
+            for (LivesPhase phase : MOD_PHASES) {
+                total += phase.stats().histogram().sumNanos();
+            }
+            return total;
+        }
+
+        private void writeReport() {
+            JsonObject report = new JsonObject();
+            report.addProperty("players", playerCount);
+            report.addProperty("measuredTicks", measuredTicks);
+            report.addProperty("deaths", deaths);
+            report.addProperty("ritualAttempts", ritualAttempts);
+            report.addProperty("commands", commands);
+            report.add("modMicrosPerTick", summary(modNanosPerTick, 1_000L));
+            report.add("averageMsptMicros", summary(serverNanosPerTick, 1_000L));
+            report.add("effectPacketsPerTick", summary(packetsPerTick, 1L));
+            JsonArray perTick = new JsonArray();
+            for (int i = 0; i < measuredTicks; i++) {
+                JsonObject sample = new JsonObject();
+                sample.addProperty("modMicros", modNanosPerTick[i] / 1_000L);
+                sample.addProperty("effectPackets", packetsPerTick[i]);
+                perTick.add(sample);
+            }
+            report.add("ticks", perTick);
+
+            Path path = Path.of(System.getProperty(
+                    REPORT_PROPERTY,
+                    FabricLoader.getInstance().getGameDir().resolve("limited-lifes-load-report.json").toString()
+            ));
+            try {
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                    GSON.toJson(report, writer);
+                }
+            } catch (IOException e) {
+                helper.fail("Failed to write load report to " + path + ": " + e.getMessage());
+                return;
+            }
+            LimitedLifes.LOGGER.info(
+                    "Load run with {} players: mod p50={}us p99={}us per tick, report at {}",
+                    playerCount,
+                    report.getAsJsonObject("modMicrosPerTick").get("p50").getAsLong(),
+                    report.getAsJsonObject("modMicrosPerTick").get("p99").getAsLong(),
+                    path.toAbsolutePath()
+            );
+        }
+
+        private static JsonObject summary(long[] samples, long divisor) {
+            long[] sorted = samples.clone();
+            Arrays.sort(sorted);
+            long sum = 0L;
+            for (long sample : sorted) {
+                sum += sample;
+            }
+            JsonObject summary = new JsonObject();
+            summary.addProperty("mean", sorted.length == 0 ? 0L : sum / sorted.length / divisor);
+            summary.addProperty("p50", percentile(sorted, 0.50) / divisor);
+            summary.addProperty("p99", percentile(sorted, 0.99) / divisor);
+            summary.addProperty("max", sorted.length == 0 ? 0L : sorted[sorted.length - 1] / divisor);
+            return summary;
+        }
+
+        private static long percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0L;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+    }
+}
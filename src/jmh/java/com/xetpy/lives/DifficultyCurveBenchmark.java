@@ -0,0 +1,35 @@
+package com.xetpy.lives;
+
+import com.xetpy.config.DifficultyCurve;
+import com.xetpy.config.HardcoreConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DifficultyCurveBenchmark {
+    private DifficultyCurve curve;
+
+    @Setup
+    public void setUp() {
+        MinecraftBootstrap.ensure();
+        curve = DifficultyCurve.compile(HardcoreConfig.DifficultySettings.DEFAULT).getOrThrow();
+    }
+
+    @Benchmark
+    public void decideAllLives(Blackhole blackhole) {
+        for (int lives = LivesRules.MIN_LIVES; lives <= LivesRules.MAX_LIVES; lives++) {
+            blackhole.consume(curve.forLives(lives, false));
+            blackhole.consume(curve.forLives(lives, true));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.xetpy.lives;
+
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LivesCodecBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int players;
+
+    private LivesTable table;
+    private Tag encoded;
+
+    @Setup
+    public void setUp() {
+        MinecraftBootstrap.ensure();
+        Random random = new Random(42L);
+        table = new LivesTable(players);
+        for (int i = 0; i < players; i++) {
+            table.put(new UUID(random.nextLong(), random.nextLong()), LivesRules.MIN_LIVES + random.nextInt(LivesRules.MAX_LIVES));
+        }
+        encoded = encode();
+    }
+
+    @Benchmark
+    public Tag encode() {
+        return PlayerLivesStore.LIVES_BY_PLAYER_CODEC.encodeStart(NbtOps.INSTANCE, table).getOrThrow();
+    }
+
+    @Benchmark
+    public LivesTable decode() {
+        return PlayerLivesStore.LIVES_BY_PLAYER_CODEC.parse(NbtOps.INSTANCE, encoded).getOrThrow();
+    }
+
+    @Benchmark
+    public LivesTable roundTrip() {
+        Tag tag = PlayerLivesStore.LIVES_BY_PLAYER_CODEC.encodeStart(NbtOps.INSTANCE, table).getOrThrow();
+        return PlayerLivesStore.LIVES_BY_PLAYER_CODEC.parse(NbtOps.INSTANCE, tag).getOrThrow();
+    }
+}
@@ -0,0 +1,14 @@
+package com.xetpy.lives;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+
+final class MinecraftBootstrap {
+    private MinecraftBootstrap() {
+    }
+
+    static void ensure() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+    }
+}
@@ -0,0 +1,56 @@
+package com.xetpy.lives;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PlayerLivesStoreBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int players;
+
+    private PlayerLivesStore store;
+    private UUID[] playerUuids;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        MinecraftBootstrap.ensure();
+        Random random = new Random(42L);
+        store = new PlayerLivesStore();
+        playerUuids = new UUID[players];
+        for (int i = 0; i < players; i++) {
+            playerUuids[i] = new UUID(random.nextLong(), random.nextLong());
+            store.setLives(playerUuids[i], LivesRules.MIN_LIVES + random.nextInt(LivesRules.MAX_LIVES));
+        }
+    }
+
+    @Benchmark
+    public int getLives() {
+        return store.getLives(nextPlayer());
+    }
+
+    @Benchmark
+    public int setLives() {
+        UUID playerUuid = nextPlayer();
+        int lives = store.getLives(playerUuid);
+        return store.setLives(playerUuid, lives == LivesRules.MAX_LIVES ? LivesRules.MIN_LIVES : lives + 1);
+    }
+
+    private UUID nextPlayer() {
+        UUID playerUuid = playerUuids[cursor];
+        cursor = cursor + 1 == playerUuids.length ? 0 : cursor + 1;
+        return playerUuid;
+    }
+}
@@ -0,0 +1,84 @@
+package com.xetpy.lives;
+
+import com.xetpy.config.RitualCost;
+import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RitualInventoryBenchmark {
+    private static final int PLAYER_INVENTORY_SIZE = 41;
+
+    @Benchmark
+    public boolean missingResources(ReadOnlyInventory state) {
+        return RitualInventory.tryConsume(state.inventory, state.unaffordable);
+    }
+
+    @Benchmark
+    public SimpleContainer consume(FreshInventory state) {
+        RitualInventory.tryConsume(state.inventory, state.cost);
+        return state.inventory;
+    }
+
+    private static List<RitualCost.Requirement> defaultCost() {
+        return List.of(
+                new RitualCost.Requirement(Items.TOTEM_OF_UNDYING, null, 1),
+                new RitualCost.Requirement(Items.DIAMOND_BLOCK, null, 8)
+        );
+    }
+
+    private static SimpleContainer fullInventory() {
+        SimpleContainer inventory = new SimpleContainer(PLAYER_INVENTORY_SIZE);
+        for (int slot = 0; slot < PLAYER_INVENTORY_SIZE - 2; slot++) {
+            inventory.setItem(slot, new ItemStack(Items.COBBLESTONE, 64));
+        }
+        inventory.setItem(PLAYER_INVENTORY_SIZE - 2, new ItemStack(Items.DIAMOND_BLOCK, 8));
+        inventory.setItem(PLAYER_INVENTORY_SIZE - 1, new ItemStack(Items.TOTEM_OF_UNDYING, 1));
+        return inventory;
+    }
+
+    @State(Scope.Thread)
+    public static class ReadOnlyInventory {
+        private SimpleContainer inventory;
+        private List<RitualCost.Requirement> unaffordable;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            MinecraftBootstrap.ensure();
+            inventory = fullInventory();
+            unaffordable = List.of(
+                    new RitualCost.Requirement(Items.TOTEM_OF_UNDYING, null, 1),
+                    new RitualCost.Requirement(Items.DIAMOND_BLOCK, null, 9)
+            );
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class FreshInventory {
+        private SimpleContainer inventory;
+        private List<RitualCost.Requirement> cost;
+
+        @Setup(Level.Trial)
+        public void bootstrap() {
+            MinecraftBootstrap.ensure();
+            cost = defaultCost();
+        }
+
+        @Setup(Level.Invocation)
+        public void refill() {
+            inventory = fullInventory();
+        }
+    }
+}
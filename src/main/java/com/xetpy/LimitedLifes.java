@@ -1,10 +1,16 @@
 package com.xetpy;
 
 import com.xetpy.lives.LivesService;
+import com.xetpy.network.LivesSyncPayload;
+import com.xetpy.network.LivesTiersPayload;
 import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.fabricmc.fabric.api.entity.event.v1.ServerEntityWorldChangeEvents;
+import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents;
 import net.fabricmc.fabric.api.entity.event.v1.ServerPlayerEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.networking.v1.PayloadTypeRegistry;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.fabricmc.fabric.api.event.player.UseBlockCallback;
 import net.minecraft.network.chat.Component;
@@ -13,13 +19,33 @@ import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.item.Items;
 import net.minecraft.world.level.block.state.BlockState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class LimitedLifes implements ModInitializer {
     public static final String MOD_ID = "xetpy";
+    public static final Logger LOGGER = LoggerFactory.getLogger(MOD_ID);
     private static final LivesService LIVES_SERVICE = new LivesService();
 
+    public static LivesService livesService() {
+        return LIVES_SERVICE;
+    }
+
     @Override
     public void onInitialize() {
+        PayloadTypeRegistry.playS2C().register(LivesSyncPayload.TYPE, LivesSyncPayload.STREAM_CODEC);
+        PayloadTypeRegistry.playS2C().register(LivesTiersPayload.TYPE, LivesTiersPayload.STREAM_CODEC);
+
+        ServerLifecycleEvents.SERVER_STARTED.register(LIVES_SERVICE::onServerStarted);
+        ServerLifecycleEvents.SERVER_STOPPING.register(LIVES_SERVICE::onServerStopping);
+        ServerLifecycleEvents.SERVER_STOPPED.register(LIVES_SERVICE::onServerStopped);
+
+        ServerLivingEntityEvents.AFTER_DEATH.register((entity, damageSource) -> {
+            if (entity instanceof ServerPlayer player) {
+                LIVES_SERVICE.recordDeath(player, damageSource);
+            }
+        });
+
         ServerPlayerEvents.AFTER_RESPAWN.register((oldPlayer, newPlayer, alive) -> {
             if (!alive) {
                 LIVES_SERVICE.decreaseOnDeath(newPlayer);
@@ -28,8 +54,14 @@ public class LimitedLifes implements ModInitializer {
             }
         });
 
+        ServerEntityWorldChangeEvents.AFTER_PLAYER_CHANGE_WORLD.register((player, origin, destination) ->
+                LIVES_SERVICE.onDimensionChanged(player));
+
         ServerPlayConnectionEvents.JOIN.register((handler, sender, server) ->
-                LIVES_SERVICE.syncPlayerState(handler.getPlayer()));
+                LIVES_SERVICE.onPlayerJoin(handler.getPlayer()));
+
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) ->
+                LIVES_SERVICE.forgetPlayer(handler.getPlayer()));
 
         UseBlockCallback.EVENT.register((player, world, hand, hitResult) -> {
             if (world.isClientSide() || hand != InteractionHand.MAIN_HAND || !(player instanceof ServerPlayer serverPlayer)) {
@@ -51,11 +83,8 @@ public class LimitedLifes implements ModInitializer {
                     : InteractionResult.PASS;
         });
 
-        ServerTickEvents.START_SERVER_TICK.register(server -> {
-            for (ServerPlayer player : server.getPlayerList().getPlayers()) {
-                LIVES_SERVICE.applyDifficultyTick(player);
-            }
-        });
+        ServerTickEvents.START_SERVER_TICK.register(LIVES_SERVICE::tick);
+        ServerTickEvents.END_SERVER_TICK.register(LIVES_SERVICE::endTick);
 
         CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) ->
                 LivesCommand.register(dispatcher, LIVES_SERVICE));
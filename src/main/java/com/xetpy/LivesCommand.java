@@ -1,19 +1,76 @@
 package com.xetpy;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.builder.ArgumentBuilder;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.DynamicCommandExceptionType;
 import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+import com.mojang.serialization.DataResult;
+import com.xetpy.api.LivesChangeCause;
+import com.xetpy.audit.AuditEntry;
+import com.xetpy.config.DifficultyCurve;
+import com.xetpy.config.HardcoreConfig;
+import com.xetpy.lives.LivesDistribution;
 import com.xetpy.lives.LivesRules;
 import com.xetpy.lives.LivesService;
+import com.xetpy.lives.LivesStoreSnapshot;
+import com.xetpy.metrics.LivesMetrics;
+import com.xetpy.metrics.LivesPhase;
+import com.xetpy.metrics.PhaseStats;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
 import net.minecraft.commands.arguments.EntityArgument;
+import net.minecraft.commands.arguments.GameProfileArgument;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.players.NameAndId;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.IntUnaryOperator;
 
 public final class LivesCommand {
     private static final SimpleCommandExceptionType TARGET_REQUIRED_EXCEPTION =
             new SimpleCommandExceptionType(Component.translatable("commands.limited_lifes.lives.target_required"));
+    private static final DynamicCommandExceptionType INVALID_CONFIG_EXCEPTION =
+            new DynamicCommandExceptionType(message -> Component.translatable("commands.limited_lifes.config.invalid", message));
+    private static final DynamicCommandExceptionType UNKNOWN_CONFIG_KEY_EXCEPTION =
+            new DynamicCommandExceptionType(key -> Component.translatable("commands.limited_lifes.config.unknown_key", key));
+    private static final DynamicCommandExceptionType HISTORY_FAILED_EXCEPTION =
+            new DynamicCommandExceptionType(message -> Component.translatable("commands.limited_lifes.history.failed", message));
+    private static final DynamicCommandExceptionType UNKNOWN_TIER_EXCEPTION =
+            new DynamicCommandExceptionType(tier -> Component.translatable("commands.limited_lifes.tier.unknown", tier));
+    private static final DynamicCommandExceptionType UNKNOWN_SNAPSHOT_EXCEPTION =
+            new DynamicCommandExceptionType(id -> Component.translatable("commands.limited_lifes.snapshot.unknown", id));
+    private static final SimpleCommandExceptionType NOTHING_TO_RELEASE_EXCEPTION =
+            new SimpleCommandExceptionType(Component.translatable("commands.limited_lifes.release.none"));
+    private static final int DEFAULT_HISTORY_LIMIT = 10;
+    private static final int DEFAULT_LIST_LIMIT = 10;
+    private static final int MAX_LIST_LIMIT = 100;
+    private static final int MAX_HISTORY_LIMIT = 100;
+    private static final DateTimeFormatter HISTORY_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
 
     private LivesCommand() {
     }
@@ -34,25 +91,282 @@ public final class LivesCommand {
                             ServerPlayer target = EntityArgument.getPlayer(context, "target");
                             return showLives(source, livesService, target);
                         }))
-                .then(Commands.literal("set")
-                        .then(Commands.argument("target", EntityArgument.player())
-                                .then(Commands.argument("value", IntegerArgumentType.integer(LivesRules.MIN_LIVES, LivesRules.MAX_LIVES))
-                                        .executes(context -> {
-                                            ServerPlayer target = EntityArgument.getPlayer(context, "target");
-                                            int value = IntegerArgumentType.getInteger(context, "value");
-                                            int updated = livesService.setLives(target, value);
-
-                                            context.getSource().sendSuccess(
-                                                    () -> Component.translatable(
-                                                            "commands.limited_lifes.lives.set.success",
-                                                            target.getDisplayName(),
-                                                            updated,
-                                                            LivesRules.MAX_LIVES
-                                                    ),
-                                                    true
-                                            );
-                                            return updated;
-                                        })))));
+                .then(bulkCommand("set", livesService, (node, targets) -> node
+                        .then(Commands.argument("value", IntegerArgumentType.integer(LivesRules.MIN_LIVES, LivesRules.MAX_LIVES))
+                                .executes(context -> {
+                                    int value = IntegerArgumentType.getInteger(context, "value");
+                                    return updateLives(context.getSource(), livesService, targets.resolve(context), lives -> value);
+                                }))))
+                .then(bulkCommand("add", livesService, (node, targets) -> node
+                        .then(Commands.argument("amount", IntegerArgumentType.integer(-LivesRules.MAX_LIVES, LivesRules.MAX_LIVES))
+                                .executes(context -> {
+                                    int amount = IntegerArgumentType.getInteger(context, "amount");
+                                    return updateLives(context.getSource(), livesService, targets.resolve(context), lives -> lives + amount);
+                                }))))
+                .then(bulkCommand("reset", livesService, (node, targets) -> node
+                        .executes(context -> updateLives(
+                                context.getSource(),
+                                livesService,
+                                targets.resolve(context),
+                                lives -> LivesRules.DEFAULT_LIVES
+                        ))))
+                .then(Commands.literal("stats")
+                        .executes(context -> showStats(context.getSource(), livesService)))
+                .then(Commands.literal("top")
+                        .executes(context -> showTop(context.getSource(), livesService, DEFAULT_LIST_LIMIT))
+                        .then(Commands.argument("limit", IntegerArgumentType.integer(1, MAX_LIST_LIMIT))
+                                .executes(context -> showTop(
+                                        context.getSource(),
+                                        livesService,
+                                        IntegerArgumentType.getInteger(context, "limit")
+                                ))))
+                .then(Commands.literal("tier")
+                        .then(Commands.argument("tier", StringArgumentType.word())
+                                .suggests((context, builder) -> SharedSuggestionProvider.suggest(
+                                        livesService.difficultyCurve(context.getSource().getServer()).tiers().stream()
+                                                .map(DifficultyCurve.Tier::id),
+                                        builder
+                                ))
+                                .executes(context -> showTier(
+                                        context.getSource(),
+                                        livesService,
+                                        StringArgumentType.getString(context, "tier"),
+                                        DEFAULT_LIST_LIMIT
+                                ))
+                                .then(Commands.argument("limit", IntegerArgumentType.integer(1, MAX_LIST_LIMIT))
+                                        .executes(context -> showTier(
+                                                context.getSource(),
+                                                livesService,
+                                                StringArgumentType.getString(context, "tier"),
+                                                IntegerArgumentType.getInteger(context, "limit")
+                                        )))))
+                .then(Commands.literal("release")
+                        .then(Commands.argument("players", GameProfileArgument.gameProfile())
+                                .executes(context -> releasePlayers(
+                                        context.getSource(),
+                                        livesService,
+                                        GameProfileArgument.getGameProfiles(context, "players")
+                                ))))
+                .then(Commands.literal("history")
+                        .then(Commands.argument("player", GameProfileArgument.gameProfile())
+                                .executes(context -> showHistory(
+                                        context.getSource(),
+                                        livesService,
+                                        GameProfileArgument.getGameProfiles(context, "player"),
+                                        DEFAULT_HISTORY_LIMIT
+                                ))
+                                .then(Commands.argument("limit", IntegerArgumentType.integer(1, MAX_HISTORY_LIMIT))
+                                        .executes(context -> showHistory(
+                                                context.getSource(),
+                                                livesService,
+                                                GameProfileArgument.getGameProfiles(context, "player"),
+                                                IntegerArgumentType.getInteger(context, "limit")
+                                        )))))
+                .then(Commands.literal("snapshot")
+                        .then(Commands.literal("list")
+                                .executes(context -> listSnapshots(context.getSource(), livesService)))
+                        .then(Commands.literal("take")
+                                .executes(context -> takeSnapshot(context.getSource(), livesService, ""))
+                                .then(Commands.argument("label", StringArgumentType.greedyString())
+                                        .executes(context -> takeSnapshot(
+                                                context.getSource(),
+                                                livesService,
+                                                StringArgumentType.getString(context, "label")
+                                        ))))
+                        .then(snapshotCommand("diff", livesService, false))
+                        .then(snapshotCommand("rollback", livesService, true)))
+                .then(Commands.literal("config")
+                        .executes(context -> showConfig(context.getSource()))
+                        .then(Commands.literal("reload")
+                                .executes(context -> reloadConfig(context.getSource(), livesService)))
+                        .then(Commands.literal("set")
+                                .then(Commands.argument("key", StringArgumentType.word())
+                                        .suggests((context, builder) -> SharedSuggestionProvider.suggest(HardcoreConfig.KEYS, builder))
+                                        .then(Commands.argument("value", StringArgumentType.greedyString())
+                                                .executes(context -> setConfigValue(
+                                                        context.getSource(),
+                                                        livesService,
+                                                        StringArgumentType.getString(context, "key"),
+                                                        StringArgumentType.getString(context, "value")
+                                                )))))));
+    }
+
+    private static LiteralArgumentBuilder<CommandSourceStack> bulkCommand(
+            String name,
+            LivesService livesService,
+            BiFunction<ArgumentBuilder<CommandSourceStack, ?>, TargetResolver, ArgumentBuilder<CommandSourceStack, ?>> operation
+    ) {
+        return Commands.literal(name)
+                .then(operation.apply(
+                        Commands.literal("all"),
+                        context -> livesService.knownPlayers(context.getSource().getServer())
+                ))
+                .then(Commands.literal("offline")
+                        .then(operation.apply(
+                                Commands.argument("players", GameProfileArgument.gameProfile()),
+                                context -> GameProfileArgument.getGameProfiles(context, "players").stream().map(NameAndId::id).toList()
+                        )))
+                .then(operation.apply(
+                        Commands.argument("targets", EntityArgument.players()),
+                        context -> EntityArgument.getPlayers(context, "targets").stream().map(ServerPlayer::getUUID).toList()
+                ));
+    }
+
+    private static LiteralArgumentBuilder<CommandSourceStack> snapshotCommand(String name, LivesService livesService, boolean rollback) {
+        return Commands.literal(name)
+                .then(Commands.argument("id", IntegerArgumentType.integer(1))
+                        .suggests((context, builder) -> SharedSuggestionProvider.suggest(
+                                livesService.snapshots().stream().map(snapshot -> Integer.toString(snapshot.id())),
+                                builder
+                        ))
+                        .executes(context -> compareSnapshot(
+                                context.getSource(),
+                                livesService,
+                                IntegerArgumentType.getInteger(context, "id"),
+                                null,
+                                rollback
+                        ))
+                        .then(Commands.argument("players", GameProfileArgument.gameProfile())
+                                .executes(context -> compareSnapshot(
+                                        context.getSource(),
+                                        livesService,
+                                        IntegerArgumentType.getInteger(context, "id"),
+                                        GameProfileArgument.getGameProfiles(context, "players").stream().map(NameAndId::id).toList(),
+                                        rollback
+                                ))));
+    }
+
+    private static int updateLives(
+            CommandSourceStack source,
+            LivesService livesService,
+            Collection<UUID> targets,
+            IntUnaryOperator update
+    ) {
+        if (targets.size() == 1) {
+            ServerPlayer target = source.getServer().getPlayerList().getPlayer(targets.iterator().next());
+            if (target != null) {
+                int updated = livesService.setLives(
+                        target,
+                        update.applyAsInt(livesService.getLives(target)),
+                        LivesChangeCause.COMMAND,
+                        actorOf(source)
+                );
+                source.sendSuccess(
+                        () -> Component.translatable(
+                                "commands.limited_lifes.lives.set.success",
+                                target.getDisplayName(),
+                                updated,
+                                LivesRules.MAX_LIVES
+                        ),
+                        true
+                );
+                return updated;
+            }
+        }
+
+        int total = livesService.queueBulkUpdate(targets, update, LivesChangeCause.COMMAND, actorOf(source), changed ->
+                source.sendSuccess(() -> Component.translatable("commands.limited_lifes.lives.bulk.finished", changed, targets.size()), true)
+        );
+        source.sendSuccess(() -> Component.translatable("commands.limited_lifes.lives.bulk.queued", total), false);
+        return total;
+    }
+
+    private static int listSnapshots(CommandSourceStack source, LivesService livesService) {
+        List<LivesStoreSnapshot> snapshots = livesService.snapshots();
+        source.sendSuccess(() -> Component.translatable("commands.limited_lifes.snapshot.list.header", snapshots.size()), false);
+        for (LivesStoreSnapshot snapshot : snapshots) {
+            String time = HISTORY_TIME_FORMAT.format(Instant.ofEpochMilli(snapshot.createdMillis()));
+            Component kind = Component.translatable(snapshot.scheduled()
+                    ? "commands.limited_lifes.snapshot.kind.scheduled"
+                    : "commands.limited_lifes.snapshot.kind.manual");
+            source.sendSuccess(
+                    () -> Component.translatable(
+                            "commands.limited_lifes.snapshot.list.entry",
+                            snapshot.id(),
+                            time,
+                            kind,
+                            snapshot.lives().size(),
+                            snapshot.label()
+                    ),
+                    false
+            );
+        }
+        return snapshots.size();
+    }
+
+    private static int takeSnapshot(CommandSourceStack source, LivesService livesService, String label) {
+        LivesStoreSnapshot snapshot = livesService.takeSnapshot(source.getServer(), label);
+        source.sendSuccess(
+                () -> Component.translatable("commands.limited_lifes.snapshot.taken", snapshot.id(), snapshot.lives().size()),
+                true
+        );
+        return snapshot.id();
+    }
+
+    private static int compareSnapshot(
+            CommandSourceStack source,
+            LivesService livesService,
+            int id,
+            Collection<UUID> players,
+            boolean rollback
+    ) throws CommandSyntaxException {
+        MinecraftServer server = source.getServer();
+        LivesStoreSnapshot snapshot = livesService.snapshot(id).orElseThrow(() -> UNKNOWN_SNAPSHOT_EXCEPTION.create(id));
+        List<LivesStoreSnapshot.Change> changes = livesService.diffSnapshot(server, snapshot, players);
+        if (changes.isEmpty()) {
+            source.sendSuccess(() -> Component.translatable("commands.limited_lifes.snapshot.no_changes", id), false);
+            return 0;
+        }
+
+        if (rollback) {
+            int total = livesService.rollback(server, changes, actorOf(source), changed -> source.sendSuccess(
+                    () -> Component.translatable("commands.limited_lifes.snapshot.rollback.finished", changed, id),
+                    true
+            ));
+            source.sendSuccess(() -> Component.translatable("commands.limited_lifes.snapshot.rollback.queued", total, id), false);
+            return total;
+        }
+
+        source.sendSuccess(() -> Component.translatable("commands.limited_lifes.snapshot.diff.header", id, changes.size()), false);
+        int shown = Math.min(DEFAULT_LIST_LIMIT, changes.size());
+        for (int i = 0; i < shown; i++) {
+            LivesStoreSnapshot.Change change = changes.get(i);
+            Component name = describePlayer(server, change.playerUuid());
+            if (change.livesChanged()) {
+                source.sendSuccess(
+                        () -> Component.translatable("commands.limited_lifes.snapshot.diff.entry", name, change.current(), change.target()),
+                        false
+                );
+            }
+            if (change.finalStateChanged()) {
+                source.sendSuccess(() -> Component.translatable(
+                        "commands.limited_lifes.snapshot.diff.final_state",
+                        name,
+                        describeFinalState(change.currentState()),
+                        describeFinalState(change.targetState())
+                ), false);
+            }
+        }
+        if (changes.size() > shown) {
+            int hidden = changes.size() - shown;
+            source.sendSuccess(() -> Component.translatable("commands.limited_lifes.snapshot.diff.more", hidden), false);
+        }
+        return changes.size();
+    }
+
+    private static int releasePlayers(CommandSourceStack source, LivesService livesService, Collection<NameAndId> profiles)
+            throws CommandSyntaxException {
+        int released = 0;
+        for (NameAndId profile : profiles) {
+            if (livesService.releaseFinalState(source.getServer(), profile)) {
+                released++;
+                source.sendSuccess(() -> Component.translatable("commands.limited_lifes.release.success", profile.name()), true);
+            }
+        }
+        if (released == 0) {
+            throw NOTHING_TO_RELEASE_EXCEPTION.create();
+        }
+        return released;
     }
 
     private static int showLives(CommandSourceStack source, LivesService livesService, ServerPlayer target) {
@@ -68,4 +382,226 @@ public final class LivesCommand {
         );
         return lives;
     }
+
+    private static int showStats(CommandSourceStack source, LivesService livesService) {
+        for (LivesPhase phase : LivesPhase.values()) {
+            PhaseStats.Snapshot stats = phase.stats().snapshot();
+            source.sendSuccess(
+                    () -> Component.translatable(
+                            "commands.limited_lifes.stats.phase",
+                            phase.id(),
+                            formatMicros(stats.p50Nanos()),
+                            formatMicros(stats.p99Nanos()),
+                            stats.windowSamples(),
+                            stats.totalCount()
+                    ),
+                    false
+            );
+        }
+        long packetsPerSecond = LivesMetrics.effectPacketsPerSecond();
+        int storedPlayers = livesService.storedPlayers();
+        source.sendSuccess(() -> Component.translatable("commands.limited_lifes.stats.effect_packets", packetsPerSecond), false);
+        source.sendSuccess(() -> Component.translatable("commands.limited_lifes.stats.store_size", storedPlayers), false);
+        LivesDistribution distribution = livesService.distribution(source.getServer());
+        StringBuilder histogram = new StringBuilder();
+        for (int lives = LivesRules.MAX_LIVES; lives >= LivesRules.MIN_LIVES; lives--) {
+            if (!histogram.isEmpty()) {
+                histogram.append(", ");
+            }
+            histogram.append(lives).append(": ").append(distribution.count(lives));
+        }
+        String distributionText = histogram.toString();
+        source.sendSuccess(() -> Component.translatable("commands.limited_lifes.stats.distribution", distributionText), false);
+        return storedPlayers;
+    }
+
+    private static int showTop(CommandSourceStack source, LivesService livesService, int limit) {
+        MinecraftServer server = source.getServer();
+        LivesDistribution distribution = livesService.distribution(server);
+        source.sendSuccess(() -> Component.translatable("commands.limited_lifes.top.header", distribution.total()), false);
+        int shown = 0;
+        for (int lives = LivesRules.MAX_LIVES; lives >= LivesRules.MIN_LIVES && shown < limit; lives--) {
+            for (UUID playerUuid : distribution.players(lives, limit - shown)) {
+                sendPlayerEntry(source, ++shown, describePlayer(server, playerUuid), lives);
+            }
+        }
+        return shown;
+    }
+
+    private static int showTier(CommandSourceStack source, LivesService livesService, String tierId, int limit)
+            throws CommandSyntaxException {
+        MinecraftServer server = source.getServer();
+        DifficultyCurve.Tier tier = livesService.difficultyCurve(server).tier(tierId)
+                .orElseThrow(() -> UNKNOWN_TIER_EXCEPTION.create(tierId));
+        LivesDistribution distribution = livesService.distribution(server);
+        IntList livesValues = livesService.livesInTier(server, tier);
+        int members = 0;
+        for (int lives : livesValues) {
+            members += distribution.count(lives);
+        }
+        int total = members;
+        source.sendSuccess(() -> Component.translatable("commands.limited_lifes.tier.header", tier.id(), total), false);
+
+        int shown = 0;
+        for (int lives : livesValues) {
+            if (shown >= limit) {
+                break;
+            }
+            for (UUID playerUuid : distribution.players(lives, limit - shown)) {
+                sendPlayerEntry(source, ++shown, describePlayer(server, playerUuid), lives);
+            }
+        }
+        return total;
+    }
+
+    private static void sendPlayerEntry(CommandSourceStack source, int position, Component name, int lives) {
+        source.sendSuccess(
+                () -> Component.translatable("commands.limited_lifes.top.entry", position, name, lives, LivesRules.MAX_LIVES),
+                false
+        );
+    }
+
+    private static Component describePlayer(MinecraftServer server, UUID playerUuid) {
+        ServerPlayer player = server.getPlayerList().getPlayer(playerUuid);
+        if (player != null) {
+            return player.getDisplayName();
+        }
+        return Component.literal(server.services().nameToIdCache().get(playerUuid)
+                .map(NameAndId::name)
+                .orElseGet(playerUuid::toString));
+    }
+
+    private static String describeFinalState(HardcoreConfig.FinalMode mode) {
+        return mode == null ? "-" : mode.id();
+    }
+
+    private static String formatMicros(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0D);
+    }
+
+    private static int showHistory(
+            CommandSourceStack source,
+            LivesService livesService,
+            Collection<NameAndId> profiles,
+            int limit
+    ) throws CommandSyntaxException {
+        int shown = 0;
+        for (NameAndId profile : profiles) {
+            List<AuditEntry> entries;
+            try {
+                entries = livesService.history(profile.id(), limit);
+            } catch (IOException e) {
+                throw HISTORY_FAILED_EXCEPTION.create(e.getMessage());
+            }
+
+            source.sendSuccess(
+                    () -> Component.translatable("commands.limited_lifes.history.header", profile.name(), entries.size()),
+                    false
+            );
+            for (AuditEntry entry : entries) {
+                Component actor = describeActor(source.getServer(), entry.actorUuid());
+                String time = HISTORY_TIME_FORMAT.format(Instant.ofEpochMilli(entry.timestampMillis()));
+                source.sendSuccess(
+                        () -> Component.translatable(
+                                "commands.limited_lifes.history.entry",
+                                time,
+                                entry.previousLives(),
+                                entry.newLives(),
+                                entry.cause().id(),
+                                actor
+                        ),
+                        false
+                );
+            }
+            shown += entries.size();
+        }
+        return shown;
+    }
+
+    private static Component describeActor(MinecraftServer server, UUID actorUuid) {
+        if (actorUuid == null) {
+            return Component.translatable("commands.limited_lifes.history.actor_none");
+        }
+        ServerPlayer actor = server.getPlayerList().getPlayer(actorUuid);
+        return actor != null ? actor.getDisplayName() : Component.literal(actorUuid.toString());
+    }
+
+    private static int showConfig(CommandSourceStack source) {
+        String json = HardcoreConfig.get(source.getServer()).toJson().toString();
+        source.sendSuccess(() -> Component.translatable("commands.limited_lifes.config.show", json), false);
+        return 1;
+    }
+
+    private static int reloadConfig(CommandSourceStack source, LivesService livesService) throws CommandSyntaxException {
+        MinecraftServer server = source.getServer();
+        Path path = HardcoreConfig.configFile();
+        if (!Files.exists(path)) {
+            try {
+                HardcoreConfig.get(server).writeFile(path);
+            } catch (IOException e) {
+                throw INVALID_CONFIG_EXCEPTION.create(e.getMessage());
+            }
+            source.sendSuccess(() -> Component.translatable("commands.limited_lifes.config.template_written", path.toString()), true);
+            return 0;
+        }
+
+        HardcoreConfig candidate = unwrap(HardcoreConfig.readFile(path));
+        unwrap(livesService.applyConfig(server, candidate));
+        source.sendSuccess(() -> Component.translatable("commands.limited_lifes.config.reloaded", path.toString()), true);
+        return 1;
+    }
+
+    private static int setConfigValue(CommandSourceStack source, LivesService livesService, String key, String rawValue)
+            throws CommandSyntaxException {
+        if (!HardcoreConfig.KEYS.contains(key)) {
+            throw UNKNOWN_CONFIG_KEY_EXCEPTION.create(key);
+        }
+
+        MinecraftServer server = source.getServer();
+        JsonObject json = HardcoreConfig.get(server).toJson().getAsJsonObject();
+        json.add(key, parseConfigValue(rawValue));
+        HardcoreConfig candidate = unwrap(HardcoreConfig.fromJson(json));
+        unwrap(livesService.applyConfig(server, candidate));
+        source.sendSuccess(() -> Component.translatable("commands.limited_lifes.config.updated", key, rawValue), true);
+        return 1;
+    }
+
+    private static JsonElement parseConfigValue(String rawValue) throws CommandSyntaxException {
+        String trimmed = rawValue.trim();
+        if (trimmed.startsWith("{") || trimmed.startsWith("[") || trimmed.startsWith("\"")) {
+            try {
+                return JsonParser.parseString(trimmed);
+            } catch (JsonParseException e) {
+                throw INVALID_CONFIG_EXCEPTION.create(e.getMessage());
+            }
+        }
+        if (trimmed.equals("true") || trimmed.equals("false")) {
+            return new JsonPrimitive(Boolean.parseBoolean(trimmed));
+        }
+        try {
+            return new JsonPrimitive(Long.parseLong(trimmed));
+        } catch (NumberFormatException ignored) {
+        }
+        try {
+            return new JsonPrimitive(Double.parseDouble(trimmed));
+        } catch (NumberFormatException ignored) {
+        }
+        return new JsonPrimitive(trimmed);
+    }
+
+    private static UUID actorOf(CommandSourceStack source) {
+        return source.getEntity() == null ? null : source.getEntity().getUUID();
+    }
+
+    @FunctionalInterface
+    private interface TargetResolver {
+        Collection<UUID> resolve(CommandContext<CommandSourceStack> context) throws CommandSyntaxException;
+    }
+
+    private static <T> T unwrap(DataResult<T> result) throws CommandSyntaxException {
+        if (result.error().isPresent()) {
+            throw INVALID_CONFIG_EXCEPTION.create(result.error().get().message());
+        }
+        return result.getOrThrow();
+    }
 }
@@ -0,0 +1,29 @@
+package com.xetpy.api;
+
+import com.xetpy.lives.LivesEventDispatcher;
+import com.xetpy.lives.LivesSnapshotPublisher;
+
+import java.util.List;
+
+public final class LimitedLifesApi {
+    public static final int DEFAULT_LISTENER_CAPACITY = 4096;
+
+    private LimitedLifesApi() {
+    }
+
+    public static LivesSubscription subscribe(String name, LivesChangeListener listener) {
+        return subscribe(name, listener, DEFAULT_LISTENER_CAPACITY);
+    }
+
+    public static LivesSubscription subscribe(String name, LivesChangeListener listener, int capacity) {
+        return LivesEventDispatcher.INSTANCE.subscribe(name, listener, capacity);
+    }
+
+    public static List<LivesSubscription> subscriptions() {
+        return LivesEventDispatcher.INSTANCE.subscriptions();
+    }
+
+    public static LivesSnapshot snapshot() {
+        return LivesSnapshotPublisher.INSTANCE.current();
+    }
+}
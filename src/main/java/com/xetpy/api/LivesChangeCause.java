@@ -0,0 +1,40 @@
+package com.xetpy.api;
+
+public enum LivesChangeCause {
+    DEATH("death", 0),
+    RITUAL("ritual", 1),
+    COMMAND("command", 2),
+    SYSTEM("system", 3),
+    SHARED_STORAGE("shared_storage", 4),
+    ROLLBACK("rollback", 5),
+    REGENERATION("regeneration", 6);
+
+    private static final LivesChangeCause[] BY_CODE = new LivesChangeCause[Byte.MAX_VALUE + 1];
+
+    static {
+        for (LivesChangeCause cause : values()) {
+            BY_CODE[cause.code] = cause;
+        }
+    }
+
+    private final String id;
+    private final byte code;
+
+    LivesChangeCause(String id, int code) {
+        this.id = id;
+        this.code = (byte) code;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public static LivesChangeCause fromCode(byte code) {
+        LivesChangeCause cause = code >= 0 ? BY_CODE[code] : null;
+        return cause == null ? SYSTEM : cause;
+    }
+}
@@ -0,0 +1,13 @@
+package com.xetpy.api;
+
+import java.util.UUID;
+
+public record LivesChangeEvent(
+        UUID playerUuid,
+        int previousLives,
+        int newLives,
+        LivesChangeCause cause,
+        UUID actorUuid,
+        long gameTime
+) {
+}
@@ -0,0 +1,8 @@
+package com.xetpy.api;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface LivesChangeListener {
+    void onLivesChanged(List<LivesChangeEvent> batch);
+}
@@ -0,0 +1,10 @@
+package com.xetpy.api;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record LivesDelta(long fromVersion, long toVersion, boolean fullResync, Map<UUID, Integer> changes) {
+    public static LivesDelta resync(long fromVersion, long toVersion) {
+        return new LivesDelta(fromVersion, toVersion, true, Map.of());
+    }
+}
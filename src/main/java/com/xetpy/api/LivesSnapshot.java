@@ -0,0 +1,24 @@
+package com.xetpy.api;
+
+import java.util.UUID;
+
+public interface LivesSnapshot {
+    int UNKNOWN = 0;
+
+    long version();
+
+    int lives(UUID playerUuid);
+
+    int size();
+
+    int count(int lives);
+
+    void forEach(Visitor visitor);
+
+    LivesDelta changesSince(long version);
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(UUID playerUuid, int lives);
+    }
+}
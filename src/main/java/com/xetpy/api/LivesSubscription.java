@@ -0,0 +1,16 @@
+package com.xetpy.api;
+
+public interface LivesSubscription extends AutoCloseable {
+    String name();
+
+    int capacity();
+
+    int queuedEvents();
+
+    long deliveredEvents();
+
+    long droppedEvents();
+
+    @Override
+    void close();
+}
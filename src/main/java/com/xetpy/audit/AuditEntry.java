@@ -0,0 +1,15 @@
+package com.xetpy.audit;
+
+import com.xetpy.api.LivesChangeCause;
+
+import java.util.UUID;
+
+public record AuditEntry(
+        long timestampMillis,
+        UUID playerUuid,
+        int previousLives,
+        int newLives,
+        LivesChangeCause cause,
+        UUID actorUuid
+) {
+}
@@ -0,0 +1,236 @@
+package com.xetpy.audit;
+
+import com.xetpy.api.LivesChangeCause;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public final class LivesAuditLog implements AutoCloseable {
+    private static final int RECORD_BYTES = 48;
+    private static final int RECORDS_PER_SEGMENT = 1 << 16;
+    private static final long SEGMENT_BYTES = (long) RECORD_BYTES * RECORDS_PER_SEGMENT;
+    private static final String FILE_PREFIX = "audit-";
+    private static final String FILE_SUFFIX = ".log";
+    private static final int OFFSET_TIMESTAMP = 0;
+    private static final int OFFSET_PLAYER_MOST = 8;
+    private static final int OFFSET_PLAYER_LEAST = 16;
+    private static final int OFFSET_ACTOR_MOST = 24;
+    private static final int OFFSET_ACTOR_LEAST = 32;
+    private static final int OFFSET_PREVIOUS = 40;
+    private static final int OFFSET_NEW = 41;
+    private static final int OFFSET_CAUSE = 42;
+    private static final int OFFSET_FLAGS = 43;
+    private static final byte FLAG_HAS_ACTOR = 1;
+
+    private final Path directory;
+    private final List<SealedSegment> sealedSegments = new ArrayList<>();
+    private long activeIndex;
+    private FileChannel activeChannel;
+    private MappedByteBuffer activeBuffer;
+    private int activeRecords;
+
+    private LivesAuditLog(Path directory) {
+        this.directory = directory;
+    }
+
+    public static LivesAuditLog open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        LivesAuditLog log = new LivesAuditLog(directory);
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+
+        for (int i = 0; i < files.size() - 1; i++) {
+            log.sealedSegments.add(new SealedSegment(files.get(i)));
+        }
+        if (files.isEmpty()) {
+            log.openSegment(1L);
+        } else {
+            Path last = files.get(files.size() - 1);
+            log.openSegment(segmentIndex(last));
+        }
+        return log;
+    }
+
+    public void append(long timestampMillis, UUID playerUuid, int previousLives, int newLives, LivesChangeCause cause, UUID actorUuid)
+            throws IOException {
+        if (activeRecords >= RECORDS_PER_SEGMENT) {
+            rollSegment();
+        }
+
+        int offset = activeRecords * RECORD_BYTES;
+        activeBuffer.putLong(offset + OFFSET_PLAYER_MOST, playerUuid.getMostSignificantBits());
+        activeBuffer.putLong(offset + OFFSET_PLAYER_LEAST, playerUuid.getLeastSignificantBits());
+        activeBuffer.putLong(offset + OFFSET_ACTOR_MOST, actorUuid == null ? 0L : actorUuid.getMostSignificantBits());
+        activeBuffer.putLong(offset + OFFSET_ACTOR_LEAST, actorUuid == null ? 0L : actorUuid.getLeastSignificantBits());
+        activeBuffer.put(offset + OFFSET_PREVIOUS, (byte) previousLives);
+        activeBuffer.put(offset + OFFSET_NEW, (byte) newLives);
+        activeBuffer.put(offset + OFFSET_CAUSE, cause.code());
+        activeBuffer.put(offset + OFFSET_FLAGS, actorUuid == null ? 0 : FLAG_HAS_ACTOR);
+        activeBuffer.putLong(offset + OFFSET_TIMESTAMP, Math.max(1L, timestampMillis));
+        activeRecords++;
+    }
+
+    public List<AuditEntry> history(UUID playerUuid, int limit) throws IOException {
+        List<AuditEntry> entries = new ArrayList<>(Math.min(limit, 64));
+        long mostSignificant = playerUuid.getMostSignificantBits();
+        long leastSignificant = playerUuid.getLeastSignificantBits();
+
+        collect(activeBuffer, activeRecords, mostSignificant, leastSignificant, limit, entries);
+        for (int i = sealedSegments.size() - 1; i >= 0 && entries.size() < limit; i--) {
+            SealedSegment segment = sealedSegments.get(i);
+            if (!segment.mayContain(mostSignificant, leastSignificant)) {
+                continue;
+            }
+            try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                collect(buffer, segment.recordCount(buffer), mostSignificant, leastSignificant, limit, entries);
+            }
+        }
+        return entries;
+    }
+
+    public void force() {
+        if (activeBuffer != null) {
+            activeBuffer.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        if (activeChannel != null) {
+            activeChannel.close();
+            activeChannel = null;
+            activeBuffer = null;
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        force();
+        activeChannel.close();
+        sealedSegments.add(new SealedSegment(segmentPath(activeIndex)));
+        openSegment(activeIndex + 1L);
+    }
+
+    private void openSegment(long index) throws IOException {
+        activeIndex = index;
+        activeChannel = FileChannel.open(
+                segmentPath(index),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        );
+        activeBuffer = activeChannel.map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_BYTES);
+        activeRecords = countRecords(activeBuffer, RECORDS_PER_SEGMENT);
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(String.format("%s%010d%s", FILE_PREFIX, index, FILE_SUFFIX));
+    }
+
+    private static void collect(
+            MappedByteBuffer buffer,
+            int recordCount,
+            long mostSignificant,
+            long leastSignificant,
+            int limit,
+            List<AuditEntry> entries
+    ) {
+        for (int record = recordCount - 1; record >= 0 && entries.size() < limit; record--) {
+            int offset = record * RECORD_BYTES;
+            if (buffer.getLong(offset + OFFSET_PLAYER_MOST) != mostSignificant
+                    || buffer.getLong(offset + OFFSET_PLAYER_LEAST) != leastSignificant) {
+                continue;
+            }
+            boolean hasActor = (buffer.get(offset + OFFSET_FLAGS) & FLAG_HAS_ACTOR) != 0;
+            entries.add(new AuditEntry(
+                    buffer.getLong(offset + OFFSET_TIMESTAMP),
+                    new UUID(mostSignificant, leastSignificant),
+                    buffer.get(offset + OFFSET_PREVIOUS),
+                    buffer.get(offset + OFFSET_NEW),
+                    LivesChangeCause.fromCode(buffer.get(offset + OFFSET_CAUSE)),
+                    hasActor
+                            ? new UUID(buffer.getLong(offset + OFFSET_ACTOR_MOST), buffer.getLong(offset + OFFSET_ACTOR_LEAST))
+                            : null
+            ));
+        }
+    }
+
+    private static int countRecords(MappedByteBuffer buffer, int capacity) {
+        int low = 0;
+        int high = capacity;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (buffer.getLong(middle * RECORD_BYTES + OFFSET_TIMESTAMP) != 0L) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static long segmentIndex(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 1L;
+        }
+    }
+
+    private static long playerKey(long mostSignificant, long leastSignificant) {
+        return HashCommon.mix(mostSignificant ^ leastSignificant);
+    }
+
+    private static final class SealedSegment {
+        private final Path path;
+        private LongOpenHashSet playerIndex;
+        private int records = -1;
+
+        private SealedSegment(Path path) {
+            this.path = path;
+        }
+
+        private boolean mayContain(long mostSignificant, long leastSignificant) throws IOException {
+            if (playerIndex == null) {
+                buildIndex();
+            }
+            return playerIndex.contains(playerKey(mostSignificant, leastSignificant));
+        }
+
+        private int recordCount(MappedByteBuffer buffer) {
+            if (records < 0) {
+                records = countRecords(buffer, (int) (buffer.capacity() / RECORD_BYTES));
+            }
+            return records;
+        }
+
+        private void buildIndex() throws IOException {
+            LongOpenHashSet index = new LongOpenHashSet();
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                int count = recordCount(buffer);
+                for (int record = 0; record < count; record++) {
+                    int offset = record * RECORD_BYTES;
+                    index.add(playerKey(buffer.getLong(offset + OFFSET_PLAYER_MOST), buffer.getLong(offset + OFFSET_PLAYER_LEAST)));
+                }
+            }
+            index.trim();
+            playerIndex = index;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.xetpy.config;
+
+import com.mojang.serialization.DataResult;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.Identifier;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.Blocks;
+
+import java.util.Optional;
+
+public record CompiledHardcoreConfig(
+        HardcoreConfig.FinalMode finalMode,
+        Block ritualAltar,
+        RitualCost ritualCost,
+        int ritualCooldownTicks,
+        boolean persistRitualCooldowns,
+        int lastChanceDurationTicks,
+        DeathLossTable deathLoss,
+        PrisonRegion prison,
+        HardcoreConfig.RegenerationSettings regeneration,
+        DifficultyCurve difficulty
+) {
+    public static DataResult<CompiledHardcoreConfig> compile(HardcoreConfig config, RegistryAccess registries) {
+        Identifier altarId = Identifier.tryParse(config.ritualAltarBlockId());
+        Optional<Block> altar = altarId == null ? Optional.empty() : BuiltInRegistries.BLOCK.getOptional(altarId);
+        DataResult<RitualCost> ritualCost = RitualCost.compile(config.ritualItemCost(), config.ritualXpLevelsCost());
+        DataResult<DeathLossTable> deathLoss = DeathLossTable.compile(
+                config.deathLoss(),
+                config.deathLossByDamage(),
+                config.deathLossByKiller(),
+                registries
+        );
+        DataResult<PrisonRegion> prison = PrisonRegion.compile(config.prison());
+        DataResult<DifficultyCurve> difficulty = DifficultyCurve.compile(config.difficulty());
+        CompiledHardcoreConfig compiled = new CompiledHardcoreConfig(
+                config.finalMode(),
+                altar.orElse(Blocks.ENCHANTING_TABLE),
+                ritualCost.resultOrPartial().orElseThrow(),
+                config.ritualCooldownTicks(),
+                config.persistRitualCooldowns(),
+                config.lastChanceDurationTicks(),
+                deathLoss.resultOrPartial().orElseThrow(),
+                prison.resultOrPartial().orElseThrow(),
+                config.regeneration(),
+                difficulty.resultOrPartial().orElseThrow()
+        );
+        if (altar.isEmpty()) {
+            return DataResult.error(() -> "Unknown ritual altar block: " + config.ritualAltarBlockId(), compiled);
+        }
+        return ritualCost.apply3((cost, table, region) -> compiled, deathLoss, prison)
+                .apply2((result, curve) -> result, difficulty);
+    }
+}
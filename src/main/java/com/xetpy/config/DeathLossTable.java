@@ -0,0 +1,118 @@
+package com.xetpy.config;
+
+import com.mojang.serialization.DataResult;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.core.Holder;
+import net.minecraft.core.HolderGetter;
+import net.minecraft.core.HolderSet;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.Identifier;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.damagesource.DamageSource;
+import net.minecraft.world.damagesource.DamageType;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public final class DeathLossTable {
+    private static final String TAG_PREFIX = "#";
+    private static final int NO_OVERRIDE = -1;
+
+    private final int defaultLoss;
+    private final Reference2IntOpenHashMap<DamageType> lossByDamageType;
+    private final Reference2IntOpenHashMap<EntityType<?>> lossByKiller;
+
+    private DeathLossTable(
+            int defaultLoss,
+            Reference2IntOpenHashMap<DamageType> lossByDamageType,
+            Reference2IntOpenHashMap<EntityType<?>> lossByKiller
+    ) {
+        this.defaultLoss = defaultLoss;
+        this.lossByDamageType = lossByDamageType;
+        this.lossByKiller = lossByKiller;
+        lossByDamageType.defaultReturnValue(NO_OVERRIDE);
+        lossByKiller.defaultReturnValue(NO_OVERRIDE);
+        lossByDamageType.trim();
+        lossByKiller.trim();
+    }
+
+    public int defaultLoss() {
+        return defaultLoss;
+    }
+
+    public int lossFor(DamageSource source) {
+        if (source == null) {
+            return defaultLoss;
+        }
+        Entity killer = source.getEntity();
+        if (killer != null) {
+            int killerLoss = lossByKiller.getInt(killer.getType());
+            if (killerLoss != NO_OVERRIDE) {
+                return killerLoss;
+            }
+        }
+        int damageLoss = lossByDamageType.getInt(source.type());
+        return damageLoss != NO_OVERRIDE ? damageLoss : defaultLoss;
+    }
+
+    static DataResult<DeathLossTable> compile(
+            int defaultLoss,
+            Map<String, Integer> lossByDamage,
+            Map<String, Integer> lossByKiller,
+            RegistryAccess registries
+    ) {
+        HolderGetter<DamageType> damageTypes = registries.lookupOrThrow(Registries.DAMAGE_TYPE);
+        List<String> unknown = new ArrayList<>();
+
+        Reference2IntOpenHashMap<DamageType> byTag = new Reference2IntOpenHashMap<>();
+        Reference2IntOpenHashMap<DamageType> byType = new Reference2IntOpenHashMap<>();
+        for (Map.Entry<String, Integer> entry : lossByDamage.entrySet()) {
+            String id = entry.getKey();
+            int loss = Math.max(0, entry.getValue());
+            if (id.startsWith(TAG_PREFIX)) {
+                Optional<HolderSet.Named<DamageType>> tag = Optional.ofNullable(Identifier.tryParse(id.substring(TAG_PREFIX.length())))
+                        .flatMap(tagId -> damageTypes.get(TagKey.create(Registries.DAMAGE_TYPE, tagId)));
+                if (tag.isEmpty()) {
+                    unknown.add(id);
+                    continue;
+                }
+                for (Holder<DamageType> type : tag.get()) {
+                    byTag.mergeInt(type.value(), loss, Math::max);
+                }
+            } else {
+                Optional<Holder.Reference<DamageType>> type = Optional.ofNullable(Identifier.tryParse(id))
+                        .flatMap(typeId -> damageTypes.get(ResourceKey.create(Registries.DAMAGE_TYPE, typeId)));
+                if (type.isEmpty()) {
+                    unknown.add(id);
+                    continue;
+                }
+                byType.put(type.get().value(), loss);
+            }
+        }
+        byTag.putAll(byType);
+
+        Reference2IntOpenHashMap<EntityType<?>> byKiller = new Reference2IntOpenHashMap<>();
+        for (Map.Entry<String, Integer> entry : lossByKiller.entrySet()) {
+            Optional<EntityType<?>> killer = Optional.ofNullable(Identifier.tryParse(entry.getKey()))
+                    .flatMap(BuiltInRegistries.ENTITY_TYPE::getOptional);
+            if (killer.isEmpty()) {
+                unknown.add(entry.getKey());
+                continue;
+            }
+            byKiller.put(killer.get(), Math.max(0, entry.getValue()));
+        }
+
+        DeathLossTable compiled = new DeathLossTable(Math.max(0, defaultLoss), byTag, byKiller);
+        if (!unknown.isEmpty()) {
+            return DataResult.error(() -> "Unknown death loss keys: " + String.join(", ", unknown), compiled);
+        }
+        return DataResult.success(compiled);
+    }
+}
@@ -0,0 +1,116 @@
+package com.xetpy.config;
+
+import com.mojang.serialization.DataResult;
+import com.xetpy.lives.LivesRules;
+import net.minecraft.core.Holder;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.Identifier;
+import net.minecraft.world.effect.MobEffect;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public final class DifficultyCurve {
+    public static final String NONE_ID = "none";
+    public static final String DEBT_ID = "debt";
+    public static final Tier NONE = new Tier(NONE_ID, 0, List.of());
+
+    private final Tier[] tierByLives;
+    private final Tier debt;
+    private final List<Tier> tiers;
+
+    private DifficultyCurve(Tier[] tierByLives, Tier debt, List<Tier> tiers) {
+        this.tierByLives = tierByLives;
+        this.debt = debt;
+        this.tiers = tiers;
+    }
+
+    public Tier forLives(int lives, boolean debtMode) {
+        return debtMode ? debt : tierByLives[LivesRules.clampLives(lives)];
+    }
+
+    public List<Tier> tiers() {
+        return tiers;
+    }
+
+    public Optional<Tier> tier(String id) {
+        for (Tier tier : tiers) {
+            if (tier.id().equals(id)) {
+                return Optional.of(tier);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public static DataResult<DifficultyCurve> compile(HardcoreConfig.DifficultySettings settings) {
+        List<String> errors = new ArrayList<>();
+        List<Tier> tiers = new ArrayList<>();
+        Tier[] tierByLives = new Tier[LivesRules.MAX_LIVES + 1];
+        Set<String> ids = new HashSet<>(List.of(NONE_ID, DEBT_ID));
+        tiers.add(NONE);
+
+        for (HardcoreConfig.TierSettings tierSettings : settings.tiers()) {
+            String id = tierSettings.id();
+            if (id == null || id.isBlank() || !ids.add(id)) {
+                errors.add("duplicate or reserved tier id '" + id + "'");
+                continue;
+            }
+            int min = Math.max(LivesRules.MIN_LIVES, tierSettings.minLives());
+            int max = Math.min(LivesRules.MAX_LIVES, tierSettings.maxLives());
+            if (min > max) {
+                errors.add("tier '" + id + "' covers no lives in " + LivesRules.MIN_LIVES + ".." + LivesRules.MAX_LIVES);
+                continue;
+            }
+            Tier tier = new Tier(id, tiers.size(), compileEffects(tierSettings.effects(), errors));
+            tiers.add(tier);
+            for (int lives = min; lives <= max; lives++) {
+                if (tierByLives[lives] != null) {
+                    errors.add("tier '" + id + "' overlaps tier '" + tierByLives[lives].id() + "' at " + lives + " lives");
+                    continue;
+                }
+                tierByLives[lives] = tier;
+            }
+        }
+        for (int lives = 0; lives < tierByLives.length; lives++) {
+            if (tierByLives[lives] == null) {
+                tierByLives[lives] = NONE;
+            }
+        }
+        Tier debt = new Tier(DEBT_ID, tiers.size(), compileEffects(settings.debtEffects(), errors));
+        tiers.add(debt);
+
+        DifficultyCurve compiled = new DifficultyCurve(tierByLives, debt, List.copyOf(tiers));
+        if (!errors.isEmpty()) {
+            return DataResult.error(() -> "Invalid difficulty curve: " + String.join("; ", errors), compiled);
+        }
+        return DataResult.success(compiled);
+    }
+
+    private static List<EffectSpec> compileEffects(List<HardcoreConfig.EffectSettings> effects, List<String> errors) {
+        List<EffectSpec> compiled = new ArrayList<>(effects.size());
+        Set<Holder<MobEffect>> seen = new HashSet<>();
+        for (HardcoreConfig.EffectSettings effectSettings : effects) {
+            Optional<Holder.Reference<MobEffect>> effect = Optional.ofNullable(Identifier.tryParse(effectSettings.id()))
+                    .flatMap(BuiltInRegistries.MOB_EFFECT::get);
+            if (effect.isEmpty()) {
+                errors.add("unknown effect '" + effectSettings.id() + "'");
+                continue;
+            }
+            if (!seen.add(effect.get())) {
+                errors.add("effect '" + effectSettings.id() + "' is listed twice in one tier");
+                continue;
+            }
+            compiled.add(new EffectSpec(effect.get(), effectSettings.amplifier(), effectSettings.durationTicks()));
+        }
+        return List.copyOf(compiled);
+    }
+
+    public record Tier(String id, int index, List<EffectSpec> effects) {
+    }
+
+    public record EffectSpec(Holder<MobEffect> effect, int amplifier, int durationTicks) {
+    }
+}
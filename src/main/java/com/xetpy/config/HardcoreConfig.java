@@ -1,7 +1,20 @@
 package com.xetpy.config;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
 import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.JsonOps;
+import com.mojang.serialization.MapCodec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.xetpy.LimitedLifes;
+import com.xetpy.lives.LivesRules;
+import com.xetpy.persistence.SnapshotWriter;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.core.BlockPos;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.datafix.DataFixTypes;
 import net.minecraft.world.level.Level;
@@ -9,21 +22,75 @@ import net.minecraft.world.level.saveddata.SavedData;
 import net.minecraft.world.level.saveddata.SavedDataType;
 import net.minecraft.world.level.storage.DimensionDataStorage;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 public class HardcoreConfig extends SavedData {
+    public static final List<String> KEYS = List.of(
+            "finalMode",
+            "ritualAltarBlockId",
+            "ritualItemCost",
+            "ritualXpLevelsCost",
+            "ritualCooldownTicks",
+            "persistRitualCooldowns",
+            "lastChanceDurationTicks",
+            "deathLoss",
+            "deathLossByDamage",
+            "deathLossByKiller",
+            "prison",
+            "metrics",
+            "storage",
+            "snapshots",
+            "regeneration",
+            "difficulty"
+    );
     private static final String STORAGE_KEY = "xetpy_hardcore_config";
+    private static final String FILE_NAME = "limited-lifes.json";
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
     private static final Codec<FinalMode> FINAL_MODE_CODEC = Codec.STRING.xmap(
             raw -> FinalMode.fromId(raw),
             FinalMode::id
     );
+    private static final List<ItemCost> DEFAULT_RITUAL_ITEM_COST = List.of(
+            new ItemCost("minecraft:totem_of_undying", 1),
+            new ItemCost("minecraft:diamond_block", 8)
+    );
+    private static final String LEGACY_TOTEM_COST_KEY = "ritualTotemCost";
+    private static final String LEGACY_DIAMOND_BLOCK_COST_KEY = "ritualDiamondBlockCost";
+    private static final MapCodec<List<ItemCost>> RITUAL_ITEM_COST_FIELD = RecordCodecBuilder.<RitualItemCostFields>mapCodec(instance ->
+            instance.group(
+                    ItemCost.CODEC.listOf().optionalFieldOf("ritualItemCost").forGetter(RitualItemCostFields::itemCost),
+                    Codec.INT.optionalFieldOf(LEGACY_TOTEM_COST_KEY).forGetter(RitualItemCostFields::legacyTotems),
+                    Codec.INT.optionalFieldOf(LEGACY_DIAMOND_BLOCK_COST_KEY).forGetter(RitualItemCostFields::legacyDiamondBlocks)
+            ).apply(instance, RitualItemCostFields::new)
+    ).xmap(RitualItemCostFields::resolve, cost -> new RitualItemCostFields(Optional.of(cost), Optional.empty(), Optional.empty()));
+    private static final Codec<Map<String, Integer>> LOSS_MAP_CODEC = Codec.unboundedMap(Codec.STRING, Codec.INT);
     private static final Codec<HardcoreConfig> CODEC = RecordCodecBuilder.create(instance ->
             instance.group(
-                    FINAL_MODE_CODEC.optionalFieldOf("finalMode", FinalMode.DEBT_MODE).forGetter(cfg -> cfg.finalMode),
-                    Codec.STRING.optionalFieldOf("ritualAltarBlockId", "minecraft:enchanting_table").forGetter(cfg -> cfg.ritualAltarBlockId),
-                    Codec.INT.optionalFieldOf("ritualTotemCost", 1).forGetter(cfg -> cfg.ritualTotemCost),
-                    Codec.INT.optionalFieldOf("ritualDiamondBlockCost", 8).forGetter(cfg -> cfg.ritualDiamondBlockCost),
-                    Codec.INT.optionalFieldOf("ritualXpLevelsCost", 20).forGetter(cfg -> cfg.ritualXpLevelsCost),
-                    Codec.INT.optionalFieldOf("ritualCooldownTicks", 1200).forGetter(cfg -> cfg.ritualCooldownTicks),
-                    Codec.INT.optionalFieldOf("lastChanceDurationTicks", 300).forGetter(cfg -> cfg.lastChanceDurationTicks)
+                    setting(FINAL_MODE_CODEC, "finalMode", FinalMode.DEBT_MODE).forGetter(cfg -> cfg.finalMode),
+                    setting(Codec.STRING, "ritualAltarBlockId", "minecraft:enchanting_table").forGetter(cfg -> cfg.ritualAltarBlockId),
+                    RITUAL_ITEM_COST_FIELD.forGetter(cfg -> cfg.ritualItemCost),
+                    setting(Codec.INT, "ritualXpLevelsCost", 20).forGetter(cfg -> cfg.ritualXpLevelsCost),
+                    setting(Codec.INT, "ritualCooldownTicks", 1200).forGetter(cfg -> cfg.ritualCooldownTicks),
+                    setting(Codec.BOOL, "persistRitualCooldowns", true).forGetter(cfg -> cfg.persistRitualCooldowns),
+                    setting(Codec.INT, "lastChanceDurationTicks", 300).forGetter(cfg -> cfg.lastChanceDurationTicks),
+                    setting(Codec.INT, "deathLoss", 1).forGetter(cfg -> cfg.deathLoss),
+                    setting(LOSS_MAP_CODEC, "deathLossByDamage", Map.of()).forGetter(cfg -> cfg.deathLossByDamage),
+                    setting(LOSS_MAP_CODEC, "deathLossByKiller", Map.of()).forGetter(cfg -> cfg.deathLossByKiller),
+                    setting(PrisonSettings.CODEC, "prison", PrisonSettings.DEFAULT).forGetter(cfg -> cfg.prison),
+                    setting(MetricsSettings.CODEC, "metrics", MetricsSettings.DEFAULT).forGetter(cfg -> cfg.metrics),
+                    setting(StorageSettings.CODEC, "storage", StorageSettings.DEFAULT).forGetter(cfg -> cfg.storage),
+                    setting(SnapshotSettings.CODEC, "snapshots", SnapshotSettings.DEFAULT).forGetter(cfg -> cfg.snapshots),
+                    setting(RegenerationSettings.CODEC, "regeneration", RegenerationSettings.DEFAULT).forGetter(cfg -> cfg.regeneration),
+                    setting(DifficultySettings.CODEC, "difficulty", DifficultySettings.DEFAULT).forGetter(cfg -> cfg.difficulty)
             ).apply(instance, HardcoreConfig::new)
     );
     private static final SavedDataType<HardcoreConfig> TYPE =
@@ -31,42 +98,82 @@ public class HardcoreConfig extends SavedData {
 
     private FinalMode finalMode;
     private String ritualAltarBlockId;
-    private int ritualTotemCost;
-    private int ritualDiamondBlockCost;
+    private List<ItemCost> ritualItemCost;
     private int ritualXpLevelsCost;
     private int ritualCooldownTicks;
+    private boolean persistRitualCooldowns;
     private int lastChanceDurationTicks;
+    private int deathLoss;
+    private Map<String, Integer> deathLossByDamage;
+    private Map<String, Integer> deathLossByKiller;
+    private PrisonSettings prison;
+    private MetricsSettings metrics;
+    private StorageSettings storage;
+    private SnapshotSettings snapshots;
+    private RegenerationSettings regeneration;
+    private DifficultySettings difficulty;
 
     public HardcoreConfig() {
         this(
                 FinalMode.DEBT_MODE,
                 "minecraft:enchanting_table",
-                1,
-                8,
+                DEFAULT_RITUAL_ITEM_COST,
                 20,
                 1200,
-                300
+                true,
+                300,
+                1,
+                Map.of(),
+                Map.of(),
+                PrisonSettings.DEFAULT,
+                MetricsSettings.DEFAULT,
+                StorageSettings.DEFAULT,
+                SnapshotSettings.DEFAULT,
+                RegenerationSettings.DEFAULT,
+                DifficultySettings.DEFAULT
         );
     }
 
     private HardcoreConfig(
             FinalMode finalMode,
             String ritualAltarBlockId,
-            int ritualTotemCost,
-            int ritualDiamondBlockCost,
+            List<ItemCost> ritualItemCost,
             int ritualXpLevelsCost,
             int ritualCooldownTicks,
-            int lastChanceDurationTicks
+            boolean persistRitualCooldowns,
+            int lastChanceDurationTicks,
+            int deathLoss,
+            Map<String, Integer> deathLossByDamage,
+            Map<String, Integer> deathLossByKiller,
+            PrisonSettings prison,
+            MetricsSettings metrics,
+            StorageSettings storage,
+            SnapshotSettings snapshots,
+            RegenerationSettings regeneration,
+            DifficultySettings difficulty
     ) {
         this.finalMode = finalMode == null ? FinalMode.DEBT_MODE : finalMode;
         this.ritualAltarBlockId = ritualAltarBlockId == null || ritualAltarBlockId.isBlank()
                 ? "minecraft:enchanting_table"
                 : ritualAltarBlockId;
-        this.ritualTotemCost = Math.max(0, ritualTotemCost);
-        this.ritualDiamondBlockCost = Math.max(0, ritualDiamondBlockCost);
+        this.ritualItemCost = ritualItemCost == null ? List.of() : List.copyOf(ritualItemCost);
         this.ritualXpLevelsCost = Math.max(0, ritualXpLevelsCost);
         this.ritualCooldownTicks = Math.max(0, ritualCooldownTicks);
+        this.persistRitualCooldowns = persistRitualCooldowns;
         this.lastChanceDurationTicks = Math.max(20, lastChanceDurationTicks);
+        this.deathLoss = Math.max(0, deathLoss);
+        this.deathLossByDamage = deathLossByDamage == null ? Map.of() : Map.copyOf(deathLossByDamage);
+        this.deathLossByKiller = deathLossByKiller == null ? Map.of() : Map.copyOf(deathLossByKiller);
+        this.prison = prison == null ? PrisonSettings.DEFAULT : prison;
+        this.metrics = metrics == null ? MetricsSettings.DEFAULT : metrics;
+        this.storage = storage == null ? StorageSettings.DEFAULT : storage;
+        this.snapshots = snapshots == null ? SnapshotSettings.DEFAULT : snapshots;
+        this.regeneration = regeneration == null ? RegenerationSettings.DEFAULT : regeneration;
+        this.difficulty = difficulty == null ? DifficultySettings.DEFAULT : difficulty;
+    }
+
+    private static <T> MapCodec<T> setting(Codec<T> codec, String name, T defaultValue) {
+        return codec.optionalFieldOf(name).xmap(value -> value.orElse(defaultValue), Optional::of);
     }
 
     public static HardcoreConfig get(MinecraftServer server) {
@@ -77,6 +184,59 @@ public class HardcoreConfig extends SavedData {
         return dataStorage.computeIfAbsent(TYPE);
     }
 
+    public static Path configFile() {
+        return FabricLoader.getInstance().getConfigDir().resolve(FILE_NAME);
+    }
+
+    public static DataResult<HardcoreConfig> fromJson(JsonElement json) {
+        return CODEC.parse(JsonOps.INSTANCE, json);
+    }
+
+    public static DataResult<HardcoreConfig> readFile(Path path) {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return fromJson(JsonParser.parseReader(reader));
+        } catch (IOException | JsonParseException e) {
+            return DataResult.error(() -> "Failed to read " + path + ": " + e.getMessage());
+        }
+    }
+
+    public JsonElement toJson() {
+        return CODEC.encodeStart(JsonOps.INSTANCE, this).getOrThrow();
+    }
+
+    public void writeFile(Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            GSON.toJson(toJson(), writer);
+        }
+    }
+
+    public void replaceWith(HardcoreConfig other) {
+        this.finalMode = other.finalMode;
+        this.ritualAltarBlockId = other.ritualAltarBlockId;
+        this.ritualItemCost = other.ritualItemCost;
+        this.ritualXpLevelsCost = other.ritualXpLevelsCost;
+        this.ritualCooldownTicks = other.ritualCooldownTicks;
+        this.persistRitualCooldowns = other.persistRitualCooldowns;
+        this.lastChanceDurationTicks = other.lastChanceDurationTicks;
+        this.deathLoss = other.deathLoss;
+        this.deathLossByDamage = other.deathLossByDamage;
+        this.deathLossByKiller = other.deathLossByKiller;
+        this.prison = other.prison;
+        this.metrics = other.metrics;
+        this.storage = other.storage;
+        this.snapshots = other.snapshots;
+        this.regeneration = other.regeneration;
+        this.difficulty = other.difficulty;
+    }
+
+    public void writeSnapshot(MinecraftServer server, SnapshotWriter writer) {
+        HardcoreConfig snapshot = new HardcoreConfig();
+        snapshot.replaceWith(this);
+        writer.submit(SnapshotWriter.dataDirectory(server).resolve(STORAGE_KEY + ".dat"), CODEC, snapshot, () -> {
+        });
+    }
+
     public FinalMode finalMode() {
         return finalMode;
     }
@@ -85,12 +245,8 @@ public class HardcoreConfig extends SavedData {
         return ritualAltarBlockId;
     }
 
-    public int ritualTotemCost() {
-        return ritualTotemCost;
-    }
-
-    public int ritualDiamondBlockCost() {
-        return ritualDiamondBlockCost;
+    public List<ItemCost> ritualItemCost() {
+        return ritualItemCost;
     }
 
     public int ritualXpLevelsCost() {
@@ -101,10 +257,303 @@ public class HardcoreConfig extends SavedData {
         return ritualCooldownTicks;
     }
 
+    public boolean persistRitualCooldowns() {
+        return persistRitualCooldowns;
+    }
+
     public int lastChanceDurationTicks() {
         return lastChanceDurationTicks;
     }
 
+    public int deathLoss() {
+        return deathLoss;
+    }
+
+    public Map<String, Integer> deathLossByDamage() {
+        return deathLossByDamage;
+    }
+
+    public Map<String, Integer> deathLossByKiller() {
+        return deathLossByKiller;
+    }
+
+    public PrisonSettings prison() {
+        return prison;
+    }
+
+    public MetricsSettings metrics() {
+        return metrics;
+    }
+
+    public StorageSettings storage() {
+        return storage;
+    }
+
+    public SnapshotSettings snapshots() {
+        return snapshots;
+    }
+
+    public RegenerationSettings regeneration() {
+        return regeneration;
+    }
+
+    public DifficultySettings difficulty() {
+        return difficulty;
+    }
+
+    public record ItemCost(String id, int count) {
+        public static final Codec<ItemCost> CODEC = RecordCodecBuilder.create(instance ->
+                instance.group(
+                        Codec.STRING.fieldOf("id").forGetter(ItemCost::id),
+                        Codec.INT.optionalFieldOf("count", 1).forGetter(ItemCost::count)
+                ).apply(instance, ItemCost::new)
+        );
+
+        public ItemCost {
+            count = Math.max(1, count);
+        }
+    }
+
+    private record RitualItemCostFields(
+            Optional<List<ItemCost>> itemCost,
+            Optional<Integer> legacyTotems,
+            Optional<Integer> legacyDiamondBlocks
+    ) {
+        private List<ItemCost> resolve() {
+            boolean legacy = legacyTotems.isPresent() || legacyDiamondBlocks.isPresent();
+            if (itemCost.isPresent()) {
+                if (legacy) {
+                    LimitedLifes.LOGGER.warn("Ignoring legacy {}/{} because ritualItemCost is set",
+                            LEGACY_TOTEM_COST_KEY, LEGACY_DIAMOND_BLOCK_COST_KEY);
+                }
+                return itemCost.get();
+            }
+            if (!legacy) {
+                return DEFAULT_RITUAL_ITEM_COST;
+            }
+            List<ItemCost> converted = new ArrayList<>(2);
+            int totems = legacyTotems.orElse(1);
+            int diamondBlocks = legacyDiamondBlocks.orElse(8);
+            if (totems > 0) {
+                converted.add(new ItemCost("minecraft:totem_of_undying", totems));
+            }
+            if (diamondBlocks > 0) {
+                converted.add(new ItemCost("minecraft:diamond_block", diamondBlocks));
+            }
+            LimitedLifes.LOGGER.warn("Converted legacy {}/{} to ritualItemCost {}",
+                    LEGACY_TOTEM_COST_KEY, LEGACY_DIAMOND_BLOCK_COST_KEY, converted);
+            return converted;
+        }
+    }
+
+    public record PrisonSettings(String dimension, BlockPos min, BlockPos max, BlockPos spawn) {
+        public static final PrisonSettings DEFAULT = new PrisonSettings(
+                "minecraft:overworld",
+                new BlockPos(-16, -64, -16),
+                new BlockPos(15, 319, 15),
+                new BlockPos(0, 100, 0)
+        );
+        public static final Codec<PrisonSettings> CODEC = RecordCodecBuilder.create(instance ->
+                instance.group(
+                        Codec.STRING.optionalFieldOf("dimension", DEFAULT.dimension).forGetter(PrisonSettings::dimension),
+                        BlockPos.CODEC.optionalFieldOf("min", DEFAULT.min).forGetter(PrisonSettings::min),
+                        BlockPos.CODEC.optionalFieldOf("max", DEFAULT.max).forGetter(PrisonSettings::max),
+                        BlockPos.CODEC.optionalFieldOf("spawn", DEFAULT.spawn).forGetter(PrisonSettings::spawn)
+                ).apply(instance, PrisonSettings::new)
+        );
+    }
+
+    public record MetricsSettings(boolean enabled, String bindAddress, int port) {
+        private static final String DEFAULT_BIND_ADDRESS = "127.0.0.1";
+        public static final MetricsSettings DEFAULT = new MetricsSettings(false, DEFAULT_BIND_ADDRESS, 9464);
+        public static final Codec<MetricsSettings> CODEC = RecordCodecBuilder.create(instance ->
+                instance.group(
+                        Codec.BOOL.optionalFieldOf("enabled", DEFAULT.enabled).forGetter(MetricsSettings::enabled),
+                        Codec.STRING.optionalFieldOf("bindAddress", DEFAULT.bindAddress).forGetter(MetricsSettings::bindAddress),
+                        Codec.intRange(1, 65535).optionalFieldOf("port", DEFAULT.port).forGetter(MetricsSettings::port)
+                ).apply(instance, MetricsSettings::new)
+        );
+
+        public MetricsSettings {
+            bindAddress = bindAddress == null || bindAddress.isBlank() ? DEFAULT_BIND_ADDRESS : bindAddress;
+        }
+    }
+
+    public record StorageSettings(StorageBackend backend, String sharedDirectory) {
+        public static final StorageSettings DEFAULT = new StorageSettings(StorageBackend.SAVED_DATA, "limited-lifes-shared");
+        public static final Codec<StorageSettings> CODEC = RecordCodecBuilder.create(instance ->
+                instance.group(
+                        Codec.STRING.xmap(StorageBackend::fromId, StorageBackend::id)
+                                .optionalFieldOf("backend", DEFAULT.backend)
+                                .forGetter(StorageSettings::backend),
+                        Codec.STRING.optionalFieldOf("sharedDirectory", DEFAULT.sharedDirectory).forGetter(StorageSettings::sharedDirectory)
+                ).apply(instance, StorageSettings::new)
+        );
+    }
+
+    public record SnapshotSettings(int intervalTicks, int keepScheduled, int keepManual) {
+        public static final SnapshotSettings DEFAULT = new SnapshotSettings(20 * 60 * 60, 24, 10);
+        public static final Codec<SnapshotSettings> CODEC = RecordCodecBuilder.create(instance ->
+                instance.group(
+                        Codec.INT.optionalFieldOf("intervalTicks", DEFAULT.intervalTicks).forGetter(SnapshotSettings::intervalTicks),
+                        Codec.INT.optionalFieldOf("keepScheduled", DEFAULT.keepScheduled).forGetter(SnapshotSettings::keepScheduled),
+                        Codec.INT.optionalFieldOf("keepManual", DEFAULT.keepManual).forGetter(SnapshotSettings::keepManual)
+                ).apply(instance, SnapshotSettings::new)
+        );
+
+        public SnapshotSettings {
+            intervalTicks = Math.max(0, intervalTicks);
+            keepScheduled = Math.max(0, keepScheduled);
+            keepManual = Math.max(1, keepManual);
+        }
+    }
+
+    public record RegenerationSettings(boolean enabled, RegenerationClock clock, int intervalMinutes, int cap) {
+        public static final RegenerationSettings DEFAULT = new RegenerationSettings(false, RegenerationClock.PLAYTIME, 360, 5);
+        public static final Codec<RegenerationSettings> CODEC = RecordCodecBuilder.create(instance ->
+                instance.group(
+                        Codec.BOOL.optionalFieldOf("enabled", DEFAULT.enabled).forGetter(RegenerationSettings::enabled),
+                        Codec.STRING.xmap(RegenerationClock::fromId, RegenerationClock::id)
+                                .optionalFieldOf("clock", DEFAULT.clock)
+                                .forGetter(RegenerationSettings::clock),
+                        Codec.INT.optionalFieldOf("intervalMinutes", DEFAULT.intervalMinutes).forGetter(RegenerationSettings::intervalMinutes),
+                        Codec.INT.optionalFieldOf("cap", DEFAULT.cap).forGetter(RegenerationSettings::cap)
+                ).apply(instance, RegenerationSettings::new)
+        );
+
+        public RegenerationSettings {
+            clock = clock == null ? RegenerationClock.PLAYTIME : clock;
+            intervalMinutes = Math.max(1, intervalMinutes);
+            cap = Math.max(LivesRules.MIN_LIVES, Math.min(LivesRules.MAX_LIVES - 1, cap));
+        }
+
+        public long intervalMillis() {
+            return intervalMinutes * 60_000L;
+        }
+    }
+
+    public record DifficultySettings(List<TierSettings> tiers, List<EffectSettings> debtEffects) {
+        public static final DifficultySettings DEFAULT = new DifficultySettings(
+                List.of(
+                        new TierSettings("weary", 4, 5, List.of(
+                                new EffectSettings("minecraft:hunger", 0)
+                        )),
+                        new TierSettings("strained", 2, 3, List.of(
+                                new EffectSettings("minecraft:hunger", 1),
+                                new EffectSettings("minecraft:weakness", 0),
+                                new EffectSettings("minecraft:mining_fatigue", 0)
+                        )),
+                        new TierSettings("last_heart", 1, 1, List.of(
+                                new EffectSettings("minecraft:hunger", 2),
+                                new EffectSettings("minecraft:weakness", 2),
+                                new EffectSettings("minecraft:mining_fatigue", 1),
+                                new EffectSettings("minecraft:slowness", 1)
+                        ))
+                ),
+                List.of(
+                        new EffectSettings("minecraft:hunger", 2),
+                        new EffectSettings("minecraft:weakness", 3),
+                        new EffectSettings("minecraft:mining_fatigue", 2),
+                        new EffectSettings("minecraft:slowness", 2),
+                        new EffectSettings("minecraft:darkness", 0)
+                )
+        );
+        public static final Codec<DifficultySettings> CODEC = RecordCodecBuilder.create(instance ->
+                instance.group(
+                        TierSettings.CODEC.listOf().optionalFieldOf("tiers", DEFAULT.tiers).forGetter(DifficultySettings::tiers),
+                        EffectSettings.CODEC.listOf().optionalFieldOf("debtEffects", DEFAULT.debtEffects).forGetter(DifficultySettings::debtEffects)
+                ).apply(instance, DifficultySettings::new)
+        );
+
+        public DifficultySettings {
+            tiers = tiers == null ? List.of() : List.copyOf(tiers);
+            debtEffects = debtEffects == null ? List.of() : List.copyOf(debtEffects);
+        }
+    }
+
+    public record TierSettings(String id, int minLives, int maxLives, List<EffectSettings> effects) {
+        public static final Codec<TierSettings> CODEC = RecordCodecBuilder.create(instance ->
+                instance.group(
+                        Codec.STRING.fieldOf("id").forGetter(TierSettings::id),
+                        Codec.INT.fieldOf("minLives").forGetter(TierSettings::minLives),
+                        Codec.INT.fieldOf("maxLives").forGetter(TierSettings::maxLives),
+                        EffectSettings.CODEC.listOf().optionalFieldOf("effects", List.of()).forGetter(TierSettings::effects)
+                ).apply(instance, TierSettings::new)
+        );
+
+        public TierSettings {
+            effects = effects == null ? List.of() : List.copyOf(effects);
+        }
+    }
+
+    public record EffectSettings(String id, int amplifier, int durationTicks) {
+        public static final int DEFAULT_DURATION_TICKS = 80;
+        public static final int MIN_DURATION_TICKS = 40;
+        public static final Codec<EffectSettings> CODEC = RecordCodecBuilder.create(instance ->
+                instance.group(
+                        Codec.STRING.fieldOf("id").forGetter(EffectSettings::id),
+                        Codec.intRange(0, 255).optionalFieldOf("amplifier", 0).forGetter(EffectSettings::amplifier),
+                        Codec.INT.optionalFieldOf("durationTicks", DEFAULT_DURATION_TICKS).forGetter(EffectSettings::durationTicks)
+                ).apply(instance, EffectSettings::new)
+        );
+
+        public EffectSettings {
+            durationTicks = Math.max(MIN_DURATION_TICKS, durationTicks);
+        }
+
+        public EffectSettings(String id, int amplifier) {
+            this(id, amplifier, DEFAULT_DURATION_TICKS);
+        }
+    }
+
+    public enum RegenerationClock {
+        PLAYTIME("playtime"),
+        WALL_CLOCK("wall_clock");
+
+        private final String id;
+
+        RegenerationClock(String id) {
+            this.id = id;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public static RegenerationClock fromId(String id) {
+            for (RegenerationClock clock : values()) {
+                if (clock.id.equalsIgnoreCase(id)) {
+                    return clock;
+                }
+            }
+            return PLAYTIME;
+        }
+    }
+
+    public enum StorageBackend {
+        SAVED_DATA("saved_data"),
+        SHARED_FILE("shared_file");
+
+        private final String id;
+
+        StorageBackend(String id) {
+            this.id = id;
+        }
+
+        public String id() {
+            return id;
+        }
+
+        public static StorageBackend fromId(String id) {
+            for (StorageBackend backend : values()) {
+                if (backend.id.equalsIgnoreCase(id)) {
+                    return backend;
+                }
+            }
+            return SAVED_DATA;
+        }
+    }
+
     public enum FinalMode {
         BAN("ban"),
         SPECTATOR("spectator"),
@@ -0,0 +1,63 @@
+package com.xetpy.config;
+
+import com.mojang.serialization.DataResult;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.Identifier;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+
+public record PrisonRegion(
+        ResourceKey<Level> dimension,
+        int minSectionX,
+        int minSectionY,
+        int minSectionZ,
+        int maxSectionX,
+        int maxSectionY,
+        int maxSectionZ,
+        BlockPos spawn
+) {
+    static DataResult<PrisonRegion> compile(HardcoreConfig.PrisonSettings settings) {
+        Identifier dimensionId = Identifier.tryParse(settings.dimension());
+        ResourceKey<Level> dimension = dimensionId == null
+                ? Level.OVERWORLD
+                : ResourceKey.create(Registries.DIMENSION, dimensionId);
+        BlockPos min = BlockPos.min(settings.min(), settings.max());
+        BlockPos max = BlockPos.max(settings.min(), settings.max());
+        PrisonRegion compiled = new PrisonRegion(
+                dimension,
+                SectionPos.blockToSectionCoord(min.getX()),
+                SectionPos.blockToSectionCoord(min.getY()),
+                SectionPos.blockToSectionCoord(min.getZ()),
+                SectionPos.blockToSectionCoord(max.getX()),
+                SectionPos.blockToSectionCoord(max.getY()),
+                SectionPos.blockToSectionCoord(max.getZ()),
+                settings.spawn()
+        );
+        if (dimensionId == null) {
+            return DataResult.error(() -> "Invalid prison dimension: " + settings.dimension(), compiled);
+        }
+        if (!isSectionStart(min) || !isSectionStart(max.offset(1, 1, 1))) {
+            return DataResult.error(() -> "Prison region " + min.toShortString() + " .. " + max.toShortString()
+                    + " is not aligned to 16-block sections; min must be a multiple of 16 and max one less than a multiple of 16", compiled);
+        }
+        if (!compiled.contains(dimension, SectionPos.of(settings.spawn()))) {
+            return DataResult.error(() -> "Prison spawn " + settings.spawn().toShortString() + " is outside the prison region", compiled);
+        }
+        return DataResult.success(compiled);
+    }
+
+    private static boolean isSectionStart(BlockPos pos) {
+        return SectionPos.sectionRelative(pos.getX()) == 0
+                && SectionPos.sectionRelative(pos.getY()) == 0
+                && SectionPos.sectionRelative(pos.getZ()) == 0;
+    }
+
+    public boolean contains(ResourceKey<Level> level, SectionPos section) {
+        return level == dimension
+                && section.x() >= minSectionX && section.x() <= maxSectionX
+                && section.y() >= minSectionY && section.y() <= maxSectionY
+                && section.z() >= minSectionZ && section.z() <= maxSectionZ;
+    }
+}
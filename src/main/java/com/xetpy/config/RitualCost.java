@@ -0,0 +1,75 @@
+package com.xetpy.config;
+
+import com.mojang.serialization.DataResult;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.resources.Identifier;
+import net.minecraft.tags.TagKey;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public record RitualCost(List<Requirement> requirements, int xpLevels) {
+    private static final String TAG_PREFIX = "#";
+
+    static DataResult<RitualCost> compile(List<HardcoreConfig.ItemCost> itemCosts, int xpLevels) {
+        List<Requirement> requirements = new ArrayList<>(itemCosts.size());
+        List<String> unknown = new ArrayList<>();
+        for (HardcoreConfig.ItemCost itemCost : itemCosts) {
+            compileRequirement(itemCost).ifPresentOrElse(requirements::add, () -> unknown.add(itemCost.id()));
+        }
+        RitualCost compiled = new RitualCost(List.copyOf(requirements), xpLevels);
+        if (!unknown.isEmpty()) {
+            return DataResult.error(() -> "Unknown ritual cost items: " + String.join(", ", unknown), compiled);
+        }
+        return DataResult.success(compiled);
+    }
+
+    private static Optional<Requirement> compileRequirement(HardcoreConfig.ItemCost itemCost) {
+        String id = itemCost.id();
+        if (id.startsWith(TAG_PREFIX)) {
+            Identifier tagId = Identifier.tryParse(id.substring(TAG_PREFIX.length()));
+            return Optional.ofNullable(tagId)
+                    .map(parsed -> new Requirement(null, TagKey.create(Registries.ITEM, parsed), itemCost.count()));
+        }
+        Identifier itemId = Identifier.tryParse(id);
+        return Optional.ofNullable(itemId)
+                .flatMap(BuiltInRegistries.ITEM::getOptional)
+                .map(item -> new Requirement(item, null, itemCost.count()));
+    }
+
+    public Component describe() {
+        MutableComponent description = Component.empty();
+        for (Requirement requirement : requirements) {
+            if (!description.getSiblings().isEmpty()) {
+                description.append(", ");
+            }
+            description.append(requirement.describe());
+        }
+        if (xpLevels > 0) {
+            if (!description.getSiblings().isEmpty()) {
+                description.append(", ");
+            }
+            description.append(Component.translatable("message.limited_lifes.ritual.xp_levels", xpLevels));
+        }
+        return description;
+    }
+
+    public record Requirement(Item item, TagKey<Item> tag, int count) {
+        public boolean matches(ItemStack stack) {
+            return item != null ? stack.is(item) : stack.is(tag);
+        }
+
+        private Component describe() {
+            Component name = item != null
+                    ? new ItemStack(item).getHoverName()
+                    : Component.literal(TAG_PREFIX + tag.location());
+            return Component.translatable("message.limited_lifes.ritual.cost_entry", count, name);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.xetpy.lives;
+
+import com.xetpy.config.DifficultyCurve;
+import com.xetpy.metrics.LivesMetrics;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.effect.MobEffectInstance;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+final class AppliedEffectsTracker {
+    static final long NO_REFRESH = -1L;
+
+    private final int refreshMarginTicks;
+    private final Map<UUID, AppliedState> stateByPlayer = new HashMap<>();
+
+    AppliedEffectsTracker(int refreshMarginTicks) {
+        this.refreshMarginTicks = refreshMarginTicks;
+    }
+
+    long apply(ServerPlayer player, DifficultyCurve.Tier tier, long now) {
+        AppliedState state = stateByPlayer.get(player.getUUID());
+        DifficultyCurve.Tier previous = state == null ? DifficultyCurve.NONE : state.tier;
+
+        if (state != null && previous == tier && now < state.refreshAt && allPresent(player, tier)) {
+            return state.refreshAt;
+        }
+
+        if (previous != tier) {
+            removeDropped(player, previous, tier);
+        }
+
+        if (tier.effects().isEmpty()) {
+            stateByPlayer.remove(player.getUUID());
+            return NO_REFRESH;
+        }
+
+        int shortestRemaining = Integer.MAX_VALUE;
+        for (DifficultyCurve.EffectSpec spec : tier.effects()) {
+            MobEffectInstance current = player.getEffect(spec.effect());
+            if (current != null && current.getAmplifier() == spec.amplifier() && current.getDuration() > refreshMarginTicks) {
+                shortestRemaining = Math.min(shortestRemaining, current.getDuration());
+                continue;
+            }
+            player.addEffect(new MobEffectInstance(spec.effect(), spec.durationTicks(), spec.amplifier(), false, false, true));
+            LivesMetrics.effectPacketSent();
+            shortestRemaining = Math.min(shortestRemaining, spec.durationTicks());
+        }
+
+        if (state == null) {
+            state = new AppliedState();
+            stateByPlayer.put(player.getUUID(), state);
+        }
+        state.tier = tier;
+        state.refreshAt = now + shortestRemaining - refreshMarginTicks;
+        return state.refreshAt;
+    }
+
+    void forget(UUID playerUuid) {
+        stateByPlayer.remove(playerUuid);
+    }
+
+    private boolean allPresent(ServerPlayer player, DifficultyCurve.Tier tier) {
+        for (DifficultyCurve.EffectSpec spec : tier.effects()) {
+            MobEffectInstance current = player.getEffect(spec.effect());
+            if (current == null || current.getAmplifier() != spec.amplifier()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void removeDropped(ServerPlayer player, DifficultyCurve.Tier previous, DifficultyCurve.Tier next) {
+        for (DifficultyCurve.EffectSpec spec : previous.effects()) {
+            if (!next.effects().contains(spec) && player.removeEffect(spec.effect())) {
+                LivesMetrics.effectPacketSent();
+            }
+        }
+    }
+
+    private static final class AppliedState {
+        private DifficultyCurve.Tier tier = DifficultyCurve.NONE;
+        private long refreshAt;
+    }
+}
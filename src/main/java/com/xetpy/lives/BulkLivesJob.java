@@ -0,0 +1,76 @@
+package com.xetpy.lives;
+
+import com.xetpy.api.LivesChangeCause;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+final class BulkLivesJob {
+    private final UUID[] targets;
+    private final PlayerUpdate update;
+    private final LivesChangeCause cause;
+    private final UUID actorUuid;
+    private final IntConsumer onComplete;
+    private final Predicate<UUID> restore;
+    private int cursor;
+    private int changed;
+
+    BulkLivesJob(Collection<UUID> targets, PlayerUpdate update, LivesChangeCause cause, UUID actorUuid, IntConsumer onComplete) {
+        this(targets, update, cause, actorUuid, onComplete, playerUuid -> false);
+    }
+
+    BulkLivesJob(
+            Collection<UUID> targets,
+            PlayerUpdate update,
+            LivesChangeCause cause,
+            UUID actorUuid,
+            IntConsumer onComplete,
+            Predicate<UUID> restore
+    ) {
+        this.targets = targets.toArray(UUID[]::new);
+        this.update = update;
+        this.cause = cause;
+        this.actorUuid = actorUuid;
+        this.onComplete = onComplete;
+        this.restore = restore;
+    }
+
+    boolean hasNext() {
+        return cursor < targets.length;
+    }
+
+    UUID next() {
+        return targets[cursor++];
+    }
+
+    int apply(UUID playerUuid, int lives) {
+        return LivesRules.clampLives(update.apply(playerUuid, lives));
+    }
+
+    boolean restore(UUID playerUuid) {
+        return restore.test(playerUuid);
+    }
+
+    LivesChangeCause cause() {
+        return cause;
+    }
+
+    UUID actorUuid() {
+        return actorUuid;
+    }
+
+    void markChanged() {
+        changed++;
+    }
+
+    void complete() {
+        onComplete.accept(changed);
+    }
+
+    @FunctionalInterface
+    interface PlayerUpdate {
+        int apply(UUID playerUuid, int lives);
+    }
+}
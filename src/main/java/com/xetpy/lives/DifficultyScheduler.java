@@ -0,0 +1,85 @@
+package com.xetpy.lives;
+
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+final class DifficultyScheduler {
+    private static final int WHEEL_SIZE = 128;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int JOIN_SPREAD_TICKS = 16;
+    private static final long NOT_SCHEDULED = Long.MIN_VALUE;
+
+    private final List<ObjectOpenHashSet<UUID>> wheel = new ArrayList<>(WHEEL_SIZE);
+    private final Object2LongOpenHashMap<UUID> dueTickByPlayer = new Object2LongOpenHashMap<>();
+    private final List<UUID> dueNow = new ArrayList<>();
+
+    DifficultyScheduler() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ObjectOpenHashSet<>());
+        }
+        dueTickByPlayer.defaultReturnValue(NOT_SCHEDULED);
+    }
+
+    void scheduleNextTick(UUID playerUuid, long now) {
+        schedule(playerUuid, now + 1L, now);
+    }
+
+    void scheduleSpread(UUID playerUuid, long now) {
+        schedule(playerUuid, now + 1L + Math.floorMod(playerUuid.hashCode(), JOIN_SPREAD_TICKS), now);
+    }
+
+    void schedule(UUID playerUuid, long dueTick, long now) {
+        long target = Math.max(dueTick, now + 1L);
+        long current = dueTickByPlayer.getLong(playerUuid);
+        if (current != NOT_SCHEDULED) {
+            if (current <= target) {
+                return;
+            }
+            wheel.get(bucket(current)).remove(playerUuid);
+        }
+        dueTickByPlayer.put(playerUuid, target);
+        wheel.get(bucket(target)).add(playerUuid);
+    }
+
+    void cancel(UUID playerUuid) {
+        long current = dueTickByPlayer.removeLong(playerUuid);
+        if (current != NOT_SCHEDULED) {
+            wheel.get(bucket(current)).remove(playerUuid);
+        }
+    }
+
+    void runDue(long now, Consumer<UUID> action) {
+        ObjectOpenHashSet<UUID> bucket = wheel.get(bucket(now));
+        if (bucket.isEmpty()) {
+            return;
+        }
+
+        Iterator<UUID> iterator = bucket.iterator();
+        while (iterator.hasNext()) {
+            UUID playerUuid = iterator.next();
+            if (dueTickByPlayer.getLong(playerUuid) <= now) {
+                iterator.remove();
+                dueTickByPlayer.removeLong(playerUuid);
+                dueNow.add(playerUuid);
+            }
+        }
+
+        try {
+            for (UUID playerUuid : dueNow) {
+                action.accept(playerUuid);
+            }
+        } finally {
+            dueNow.clear();
+        }
+    }
+
+    private static int bucket(long tick) {
+        return (int) (tick & WHEEL_MASK);
+    }
+}
@@ -0,0 +1,65 @@
+package com.xetpy.lives;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+public final class LivesDistribution {
+    private final LivesTable table;
+    private final PlayerSet[] playersByLives = new PlayerSet[LivesRules.MAX_LIVES + 1];
+    private int total;
+
+    LivesDistribution(LivesTable table) {
+        this.table = table;
+        for (int lives = 0; lives <= LivesRules.MAX_LIVES; lives++) {
+            playersByLives[lives] = new PlayerSet();
+        }
+    }
+
+    public int count(int lives) {
+        return isTracked(lives) ? playersByLives[lives].size() : 0;
+    }
+
+    public int total() {
+        return total;
+    }
+
+    public List<UUID> players(int lives, int limit) {
+        int expected = Math.min(count(lives), limit);
+        List<UUID> players = new ArrayList<>(Math.max(0, expected));
+        if (expected <= 0) {
+            return players;
+        }
+        playersByLives[lives].forEach((mostSignificant, leastSignificant) -> {
+            players.add(new UUID(mostSignificant, leastSignificant));
+            return players.size() < expected;
+        });
+        return players;
+    }
+
+    void move(UUID playerUuid, int previous, int updated) {
+        if (previous == updated) {
+            return;
+        }
+        long mostSignificant = playerUuid.getMostSignificantBits();
+        long leastSignificant = playerUuid.getLeastSignificantBits();
+        if (previous != LivesTable.ABSENT) {
+            playersByLives[previous].remove(mostSignificant, leastSignificant);
+        } else {
+            total++;
+        }
+        playersByLives[updated].add(mostSignificant, leastSignificant);
+    }
+
+    void rebuild() {
+        for (PlayerSet players : playersByLives) {
+            players.clear();
+        }
+        total = table.size();
+        table.forEach((mostSignificant, leastSignificant, lives) -> playersByLives[lives].add(mostSignificant, leastSignificant));
+    }
+
+    private static boolean isTracked(int lives) {
+        return lives >= LivesRules.MIN_LIVES && lives <= LivesRules.MAX_LIVES;
+    }
+}
@@ -0,0 +1,141 @@
+package com.xetpy.lives;
+
+import com.xetpy.LimitedLifes;
+import com.xetpy.api.LivesChangeEvent;
+import com.xetpy.api.LivesChangeListener;
+import com.xetpy.api.LivesSubscription;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LivesEventDispatcher {
+    public static final LivesEventDispatcher INSTANCE = new LivesEventDispatcher();
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "limited-lifes-events-" + threadCounter.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private LivesEventDispatcher() {
+    }
+
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+    public void publish(LivesChangeEvent event) {
+        for (Subscription subscription : subscriptions) {
+            subscription.offer(event);
+        }
+    }
+
+    public LivesSubscription subscribe(String name, LivesChangeListener listener, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Listener capacity must be positive: " + capacity);
+        }
+        Subscription subscription = new Subscription(name, listener, capacity);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    public List<LivesSubscription> subscriptions() {
+        return List.copyOf(subscriptions);
+    }
+
+    private final class Subscription implements LivesSubscription {
+        private final String name;
+        private final LivesChangeListener listener;
+        private final int capacity;
+        private final ConcurrentLinkedQueue<LivesChangeEvent> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicLong delivered = new AtomicLong();
+        private final LongAdder dropped = new LongAdder();
+
+        private Subscription(String name, LivesChangeListener listener, int capacity) {
+            this.name = name;
+            this.listener = listener;
+            this.capacity = capacity;
+        }
+
+        private void offer(LivesChangeEvent event) {
+            if (queued.incrementAndGet() > capacity) {
+                queued.decrementAndGet();
+                dropped.increment();
+                return;
+            }
+            queue.offer(event);
+            if (draining.compareAndSet(false, true)) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            List<LivesChangeEvent> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            while (true) {
+                LivesChangeEvent event;
+                while (batch.size() < MAX_BATCH_SIZE && (event = queue.poll()) != null) {
+                    batch.add(event);
+                }
+                if (batch.isEmpty()) {
+                    draining.set(false);
+                    if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+
+                queued.addAndGet(-batch.size());
+                try {
+                    listener.onLivesChanged(List.copyOf(batch));
+                } catch (RuntimeException e) {
+                    LimitedLifes.LOGGER.error("Lives change listener '{}' failed", name, e);
+                }
+                delivered.addAndGet(batch.size());
+                batch.clear();
+            }
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public int capacity() {
+            return capacity;
+        }
+
+        @Override
+        public int queuedEvents() {
+            return queued.get();
+        }
+
+        @Override
+        public long deliveredEvents() {
+            return delivered.get();
+        }
+
+        @Override
+        public long droppedEvents() {
+            return dropped.sum();
+        }
+
+        @Override
+        public void close() {
+            subscriptions.remove(this);
+        }
+    }
+}
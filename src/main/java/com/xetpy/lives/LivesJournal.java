@@ -0,0 +1,291 @@
+package com.xetpy.lives;
+
+import com.xetpy.config.HardcoreConfig;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+final class LivesJournal implements AutoCloseable {
+    private static final int MAGIC = 0x584C4A32;
+    private static final int HEADER_BYTES = Integer.BYTES;
+    private static final int RECORD_BYTES = Long.BYTES * 4 + Byte.BYTES;
+    private static final byte KIND_LIVES = 0;
+    private static final byte KIND_REGEN_ANCHOR = 1;
+    private static final byte KIND_FINAL_STATE = 2;
+    private static final byte KIND_REGEN_ANCHORS_CLEARED = 3;
+    private static final byte KIND_GAME_MODE_RESTORE = 4;
+    private static final UUID NO_PLAYER = new UUID(0L, 0L);
+    private static final String FILE_PREFIX = "journal-";
+    private static final String FILE_SUFFIX = ".bin";
+    private static final int WRITE_BUFFER_RECORDS = 2048;
+
+    private final Path directory;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(RECORD_BYTES * WRITE_BUFFER_RECORDS);
+    private final List<Generation> generations = new ArrayList<>();
+    private FileChannel activeChannel;
+    private long sequence;
+    private int activeRecords;
+    private boolean buffered;
+
+    private LivesJournal(Path directory, long sequence) {
+        this.directory = directory;
+        this.sequence = sequence;
+    }
+
+    static LivesJournal open(
+            Path directory,
+            long baseSequence,
+            LivesTable table,
+            Map<UUID, HardcoreConfig.FinalMode> finalStates,
+            Object2LongMap<UUID> regenAnchors,
+            Set<UUID> gameModeRestores
+    ) throws IOException {
+        Files.createDirectories(directory);
+        LivesJournal journal = new LivesJournal(directory, baseSequence);
+        journal.replay(baseSequence, table, finalStates, regenAnchors, gameModeRestores);
+        journal.openNextGeneration();
+        journal.deleteCoveredGenerations(baseSequence);
+        return journal;
+    }
+
+    long append(UUID playerUuid, int lives) throws IOException {
+        return append(KIND_LIVES, playerUuid, lives);
+    }
+
+    long appendRegenAnchor(UUID playerUuid, long anchor) throws IOException {
+        return append(KIND_REGEN_ANCHOR, playerUuid, anchor);
+    }
+
+    long appendFinalState(UUID playerUuid, HardcoreConfig.FinalMode mode) throws IOException {
+        return append(KIND_FINAL_STATE, playerUuid, finalStateCode(mode));
+    }
+
+    long appendRegenAnchorsCleared() throws IOException {
+        return append(KIND_REGEN_ANCHORS_CLEARED, NO_PLAYER, 0L);
+    }
+
+    long appendGameModeRestore(UUID playerUuid, boolean pending) throws IOException {
+        return append(KIND_GAME_MODE_RESTORE, playerUuid, pending ? 1L : 0L);
+    }
+
+    private long append(byte kind, UUID playerUuid, long value) throws IOException {
+        if (writeBuffer.remaining() < RECORD_BYTES) {
+            flush();
+        }
+        long next = sequence + 1;
+        writeBuffer.putLong(next)
+                .putLong(playerUuid.getMostSignificantBits())
+                .putLong(playerUuid.getLeastSignificantBits())
+                .put(kind)
+                .putLong(value);
+        if (!buffered) {
+            flush();
+        }
+        sequence = next;
+        activeRecords++;
+        currentGeneration().lastSequence = next;
+        return next;
+    }
+
+    void setBuffered(boolean buffered) throws IOException {
+        this.buffered = buffered;
+        if (!buffered) {
+            flush();
+        }
+    }
+
+    void flush() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            activeChannel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    int activeRecords() {
+        return activeRecords;
+    }
+
+    long rotate() throws IOException {
+        long covered = sequence;
+        closeActive();
+        openNextGeneration();
+        return covered;
+    }
+
+    void deleteCoveredGenerations(long baseSequence) throws IOException {
+        for (int i = 0; i < generations.size() - 1; ) {
+            Generation generation = generations.get(i);
+            if (generation.lastSequence <= baseSequence) {
+                Files.deleteIfExists(generation.path);
+                generations.remove(i);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closeActive();
+    }
+
+    private void replay(
+            long baseSequence,
+            LivesTable table,
+            Map<UUID, HardcoreConfig.FinalMode> finalStates,
+            Object2LongMap<UUID> regenAnchors,
+            Set<UUID> gameModeRestores
+    ) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES * 1024);
+        for (Path file : files) {
+            Generation generation = new Generation(file, generationIndex(file));
+            generations.add(generation);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                if (channel.read(header) < HEADER_BYTES) {
+                    continue;
+                }
+                int magic = header.flip().getInt();
+                if (magic != MAGIC) {
+                    continue;
+                }
+                buffer.clear();
+                while (channel.read(buffer) > 0 || buffer.position() >= RECORD_BYTES) {
+                    buffer.flip();
+                    while (buffer.remaining() >= RECORD_BYTES) {
+                        long recordSequence = buffer.getLong();
+                        long mostSignificant = buffer.getLong();
+                        long leastSignificant = buffer.getLong();
+                        byte kind = buffer.get();
+                        long value = buffer.getLong();
+                        generation.lastSequence = Math.max(generation.lastSequence, recordSequence);
+                        if (recordSequence > baseSequence) {
+                            switch (kind) {
+                                case KIND_REGEN_ANCHOR -> {
+                                    UUID playerUuid = new UUID(mostSignificant, leastSignificant);
+                                    if (value == PlayerLivesStore.NO_REGEN_ANCHOR) {
+                                        regenAnchors.removeLong(playerUuid);
+                                    } else {
+                                        regenAnchors.put(playerUuid, value);
+                                    }
+                                }
+                                case KIND_FINAL_STATE -> {
+                                    UUID playerUuid = new UUID(mostSignificant, leastSignificant);
+                                    HardcoreConfig.FinalMode mode = finalStateFromCode(value);
+                                    if (mode == null) {
+                                        finalStates.remove(playerUuid);
+                                    } else {
+                                        finalStates.put(playerUuid, mode);
+                                    }
+                                }
+                                case KIND_REGEN_ANCHORS_CLEARED -> regenAnchors.clear();
+                                case KIND_GAME_MODE_RESTORE -> {
+                                    UUID playerUuid = new UUID(mostSignificant, leastSignificant);
+                                    if (value != 0L) {
+                                        gameModeRestores.add(playerUuid);
+                                    } else {
+                                        gameModeRestores.remove(playerUuid);
+                                    }
+                                }
+                                default -> table.put(mostSignificant, leastSignificant, LivesRules.clampLives((int) value));
+                            }
+                        }
+                        sequence = Math.max(sequence, recordSequence);
+                    }
+                    buffer.compact();
+                }
+            }
+        }
+    }
+
+    private void openNextGeneration() throws IOException {
+        long index = generations.isEmpty() ? 1L : generations.get(generations.size() - 1).index + 1L;
+        Path file = directory.resolve(String.format("%s%016d%s", FILE_PREFIX, index, FILE_SUFFIX));
+        activeChannel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).flip();
+        while (header.hasRemaining()) {
+            activeChannel.write(header);
+        }
+        Generation generation = new Generation(file, index);
+        generation.lastSequence = sequence;
+        generations.add(generation);
+        activeRecords = 0;
+    }
+
+    private void closeActive() throws IOException {
+        if (activeChannel != null) {
+            flush();
+            activeChannel.force(false);
+            activeChannel.close();
+            activeChannel = null;
+        }
+    }
+
+    private Generation currentGeneration() {
+        return generations.get(generations.size() - 1);
+    }
+
+    private static long finalStateCode(HardcoreConfig.FinalMode mode) {
+        if (mode == null) {
+            return 0L;
+        }
+        return switch (mode) {
+            case BAN -> 1L;
+            case SPECTATOR -> 2L;
+            case PRISON -> 3L;
+            case DEBT_MODE -> 4L;
+        };
+    }
+
+    private static HardcoreConfig.FinalMode finalStateFromCode(long code) {
+        return switch ((int) code) {
+            case 1 -> HardcoreConfig.FinalMode.BAN;
+            case 2 -> HardcoreConfig.FinalMode.SPECTATOR;
+            case 3 -> HardcoreConfig.FinalMode.PRISON;
+            case 4 -> HardcoreConfig.FinalMode.DEBT_MODE;
+            default -> null;
+        };
+    }
+
+    private static long generationIndex(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private static final class Generation {
+        private final Path path;
+        private final long index;
+        private long lastSequence;
+
+        private Generation(Path path, long index) {
+            this.path = path;
+            this.index = index;
+        }
+    }
+}
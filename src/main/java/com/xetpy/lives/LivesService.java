@@ -1,56 +1,250 @@
 package com.xetpy.lives;
 
+import com.mojang.serialization.DataResult;
+import com.xetpy.LimitedLifes;
+import com.xetpy.api.LivesChangeCause;
+import com.xetpy.api.LivesChangeEvent;
+import com.xetpy.api.LivesSnapshot;
+import com.xetpy.audit.AuditEntry;
+import com.xetpy.audit.LivesAuditLog;
+import com.xetpy.config.CompiledHardcoreConfig;
+import com.xetpy.config.DifficultyCurve;
 import com.xetpy.config.HardcoreConfig;
-import net.minecraft.core.registries.BuiltInRegistries;
+import com.xetpy.config.PrisonRegion;
+import com.xetpy.config.RitualCost;
+import com.xetpy.metrics.LivesMetrics;
+import com.xetpy.metrics.LivesPhase;
+import com.xetpy.metrics.PrometheusExporter;
+import com.xetpy.metrics.RitualOutcome;
+import com.xetpy.network.LivesSyncPayload;
+import com.xetpy.network.LivesTiersPayload;
+import com.xetpy.persistence.SnapshotWriter;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.players.NameAndId;
+import net.minecraft.server.players.UserBanListEntry;
 import net.minecraft.sounds.SoundEvent;
 import net.minecraft.sounds.SoundEvents;
-import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.damagesource.DamageSource;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
-import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.ai.attributes.AttributeInstance;
 import net.minecraft.world.entity.ai.attributes.Attributes;
-import net.minecraft.world.item.Item;
-import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
+import net.minecraft.world.level.GameType;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.storage.LevelResource;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
 
 public class LivesService {
     private static final int CRITICAL_LIVES_THRESHOLD = 2;
-    private final Map<UUID, Long> ritualCooldownUntilTick = new HashMap<>();
-    private final Map<UUID, Long> debtReminderTick = new HashMap<>();
+    private static final int DEBUFF_REFRESH_MARGIN_TICKS = 20;
+    private static final String AUDIT_DIRECTORY = "xetpy_audit";
+    private static final int BULK_UPDATES_PER_TICK = 1024;
+    private static final long DEBT_REMINDER_INTERVAL_TICKS = 20L * 15L;
+    private static final long MILLIS_PER_TICK = 50L;
+    private final DifficultyScheduler difficultyScheduler = new DifficultyScheduler();
+    private final RegenerationScheduler regeneration = new RegenerationScheduler();
+    private final AppliedEffectsTracker appliedEffects =
+            new AppliedEffectsTracker(DEBUFF_REFRESH_MARGIN_TICKS);
+    private final TimerWheel ritualCooldowns = new TimerWheel(this::onRitualCooldownExpired);
+    private final TimerWheel debtReminders = new TimerWheel(playerUuid -> {
+    });
+    private final ArrayDeque<BulkLivesJob> bulkJobs = new ArrayDeque<>();
+    private final Object2IntOpenHashMap<UUID> pendingDeathLoss = new Object2IntOpenHashMap<>();
+    private final Object2IntOpenHashMap<UUID> syncedLivesDisplay = new Object2IntOpenHashMap<>();
+    private final Set<UUID> onlinePrisoners = new ObjectOpenHashSet<>();
+    private final Set<UUID> pendingFinalEnforcement = new LinkedHashSet<>();
+    private final NotificationOutbox notifications = new NotificationOutbox();
+    private volatile CompiledHardcoreConfig config;
+    private final SnapshotWriter snapshotWriter = new SnapshotWriter();
+    private final LivesSnapshotArchive snapshotArchive = new LivesSnapshotArchive(snapshotWriter);
+    private final PrometheusExporter metricsExporter = new PrometheusExporter(this::debtModeEnabled);
+    private LivesStorageBackend storageBackend;
+    private PlayerLivesStore livesStore;
+    private LivesAuditLog auditLog;
+    private RitualCooldownStore cooldownStore;
+
+    public CompiledHardcoreConfig loadConfig(MinecraftServer server) {
+        HardcoreConfig stored = HardcoreConfig.get(server);
+        CompiledHardcoreConfig compiled = CompiledHardcoreConfig.compile(stored, server.registryAccess())
+                .resultOrPartial(LimitedLifes.LOGGER::warn)
+                .orElseThrow();
+        config = compiled;
+        metricsExporter.apply(stored.metrics());
+        return compiled;
+    }
+
+    public DataResult<CompiledHardcoreConfig> applyConfig(MinecraftServer server, HardcoreConfig candidate) {
+        DataResult<CompiledHardcoreConfig> compiled = CompiledHardcoreConfig.compile(candidate, server.registryAccess());
+        compiled.result().ifPresent(result -> {
+            HardcoreConfig stored = HardcoreConfig.get(server);
+            if (!stored.storage().equals(candidate.storage())) {
+                LimitedLifes.LOGGER.info("Lives storage settings changed, they will apply after a restart");
+            }
+            boolean regenerationChanged = !stored.regeneration().equals(candidate.regeneration());
+            if (regenerationChanged) {
+                suspendRegeneration(server);
+                if (stored.regeneration().clock() != candidate.regeneration().clock()) {
+                    store(server).clearRegenAnchors();
+                }
+            }
+            stored.replaceWith(candidate);
+            stored.writeSnapshot(server, snapshotWriter);
+            config = result;
+            metricsExporter.apply(candidate.metrics());
+            syncedLivesDisplay.clear();
+            long now = server.getTickCount();
+            for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+                sendTiers(player);
+                difficultyScheduler.scheduleSpread(player.getUUID(), now);
+                if (regenerationChanged) {
+                    resumeRegeneration(player);
+                }
+            }
+        });
+        return compiled;
+    }
+
+    public void onServerStarted(MinecraftServer server) {
+        loadConfig(server);
+        storageBackend = LivesStorageBackend.create(server, HardcoreConfig.get(server).storage(), this::onRemoteLivesChanged);
+        livesStore = storageBackend.open(server, snapshotWriter);
+        livesStore.publishTo(LivesSnapshotPublisher.INSTANCE);
+        snapshotArchive.open(server, snapshotSettings(server));
+        cooldownStore = RitualCooldownStore.get(server);
+        cooldownStore.pruneExpired(server.overworld().getGameTime());
+        try {
+            auditLog = LivesAuditLog.open(server.getWorldPath(LevelResource.ROOT).resolve(AUDIT_DIRECTORY));
+        } catch (IOException e) {
+            LimitedLifes.LOGGER.error("Failed to open lives audit log", e);
+        }
+    }
+
+    public void onServerStopping(MinecraftServer server) {
+        while (!bulkJobs.isEmpty()) {
+            processBulkJobs(server);
+        }
+        suspendRegeneration(server);
+        if (livesStore != null) {
+            livesStore.compactJournal();
+        }
+    }
+
+    public void onServerStopped(MinecraftServer server) {
+        snapshotWriter.flush();
+        if (livesStore != null) {
+            livesStore.publishTo(null);
+            livesStore = null;
+        }
+        if (storageBackend != null) {
+            storageBackend.close(server);
+            storageBackend = null;
+        }
+        if (auditLog != null) {
+            try {
+                auditLog.close();
+            } catch (IOException e) {
+                LimitedLifes.LOGGER.error("Failed to close lives audit log", e);
+            }
+            auditLog = null;
+        }
+        cooldownStore = null;
+        config = null;
+        regeneration.clear();
+        LivesSnapshotPublisher.INSTANCE.clear();
+        snapshotArchive.close();
+        notifications.clear();
+        metricsExporter.stop();
+    }
+
+    public boolean debtModeEnabled() {
+        CompiledHardcoreConfig current = config;
+        return current != null && current.finalMode() == HardcoreConfig.FinalMode.DEBT_MODE;
+    }
+
+    public void endTick(MinecraftServer server) {
+        if (!notifications.isEmpty()) {
+            long startNanos = LivesMetrics.begin();
+            notifications.flush(server);
+            LivesMetrics.end(LivesPhase.NOTIFICATION_FLUSH, startNanos);
+        }
+        if (livesStore != null) {
+            long startNanos = LivesMetrics.begin();
+            livesStore.publishSnapshot();
+            LivesMetrics.end(LivesPhase.SNAPSHOT_PUBLISH, startNanos);
+        }
+    }
 
     public int getLives(ServerPlayer player) {
         return store(player).getLives(player.getUUID());
     }
 
-    public int setLives(ServerPlayer player, int lives) {
+    public int setLives(ServerPlayer player, int lives, LivesChangeCause cause) {
+        return setLives(player, lives, cause, null);
+    }
+
+    public int setLives(ServerPlayer player, int lives, LivesChangeCause cause, UUID actorUuid) {
         int previous = getLives(player);
         int updated = store(player).setLives(player.getUUID(), lives);
+        recordLivesChange(player.getUUID(), previous, updated, cause, actorUuid, player.level().getGameTime());
         recalculateMaxHealth(player, updated);
         notifyOnLivesChanged(player, previous, updated);
+        difficultyScheduler.scheduleNextTick(player.getUUID(), serverTick(player));
+        onRegenerationLivesChanged(player, updated);
         return updated;
     }
 
+    public void recordDeath(ServerPlayer player, DamageSource source) {
+        pendingDeathLoss.put(player.getUUID(), config(player).deathLoss().lossFor(source));
+        LivesMetrics.death(source.typeHolder().unwrapKey().map(key -> key.location().toString()).orElse("unknown"));
+    }
+
     public int decreaseOnDeath(ServerPlayer player) {
-        int current = getLives(player);
-        int loss = LivesRules.getLossForDeath(null);
-        int updated = setLives(player, current - loss);
-        if (updated == LivesRules.MIN_LIVES) {
-            applyLastChanceBuff(player);
+        long startNanos = LivesMetrics.begin();
+        try {
+            int current = getLives(player);
+            int loss = pendingDeathLoss.containsKey(player.getUUID())
+                    ? pendingDeathLoss.removeInt(player.getUUID())
+                    : config(player).deathLoss().defaultLoss();
+            int updated = setLives(player, current - loss, LivesChangeCause.DEATH);
+            HardcoreConfig.FinalMode finalMode = config(player).finalMode();
+            if (current == LivesRules.MIN_LIVES && loss > 0 && finalMode != HardcoreConfig.FinalMode.DEBT_MODE) {
+                enterFinalMode(player, finalMode);
+            } else if (updated == LivesRules.MIN_LIVES) {
+                applyLastChanceBuff(player);
+            }
+            trackFinalState(player);
+            return updated;
+        } finally {
+            LivesMetrics.end(LivesPhase.DEATH, startNanos);
         }
-        return updated;
     }
 
-    public int restoreLives(ServerPlayer player, int amount) {
+    public int restoreLives(ServerPlayer player, int amount, LivesChangeCause cause, UUID actorUuid) {
         int current = getLives(player);
-        int updated = setLives(player, current + Math.max(0, amount));
+        int updated = setLives(player, current + Math.max(0, amount), cause, actorUuid);
         return updated;
     }
 
@@ -58,59 +252,643 @@ public class LivesService {
         return getLives(player) < LivesRules.MAX_LIVES;
     }
 
+    public void onPlayerJoin(ServerPlayer player) {
+        if (storageBackend != null) {
+            storageBackend.prefetch(player.getUUID());
+        }
+        if (store(player).getFinalState(player.getUUID()) == HardcoreConfig.FinalMode.BAN) {
+            store(player).setFinalState(player.getUUID(), null);
+        }
+        restoreRitualCooldown(player);
+        sendTiers(player);
+        syncPlayerState(player);
+    }
+
     public void syncPlayerState(ServerPlayer player) {
+        restoreGameMode(player);
         int currentLives = getLives(player);
         recalculateMaxHealth(player, currentLives);
-        sendActionBar(player, currentLives);
+        syncLivesDisplay(player, currentLives, true);
+        difficultyScheduler.scheduleSpread(player.getUUID(), serverTick(player));
+        trackFinalState(player);
+        resumeRegeneration(player);
+    }
+
+    private void restoreGameMode(ServerPlayer player) {
+        PlayerLivesStore store = store(player);
+        if (!store.consumeGameModeRestore(player.getUUID())
+                || store.getFinalState(player.getUUID()) == HardcoreConfig.FinalMode.SPECTATOR) {
+            return;
+        }
+        player.setGameMode(player.level().getServer().getDefaultGameType());
+    }
+
+    public HardcoreConfig.FinalMode finalState(MinecraftServer server, UUID playerUuid) {
+        return store(server).getFinalState(playerUuid);
+    }
+
+    public boolean releaseFinalState(MinecraftServer server, NameAndId profile) {
+        PlayerLivesStore store = store(server);
+        HardcoreConfig.FinalMode state = store.getFinalState(profile.id());
+        if (state == null) {
+            return false;
+        }
+        store.setFinalState(profile.id(), null);
+        onlinePrisoners.remove(profile.id());
+        pendingFinalEnforcement.remove(profile.id());
+
+        ServerPlayer player = server.getPlayerList().getPlayer(profile.id());
+        if (state == HardcoreConfig.FinalMode.BAN) {
+            server.getPlayerList().getBans().remove(profile);
+        } else if (state == HardcoreConfig.FinalMode.SPECTATOR) {
+            if (player != null) {
+                player.setGameMode(server.getDefaultGameType());
+            } else {
+                store.requestGameModeRestore(profile.id());
+            }
+        }
+        if (player != null) {
+            notifications.message(player, Component.translatable("message.limited_lifes.final.released"));
+        }
+        return true;
+    }
+
+    public void onSectionChanged(ServerPlayer player, SectionPos section) {
+        if (onlinePrisoners.isEmpty() || !onlinePrisoners.contains(player.getUUID())) {
+            return;
+        }
+        if (!config(player).prison().contains(player.level().dimension(), section)) {
+            pendingFinalEnforcement.add(player.getUUID());
+        }
+    }
+
+    public void onDimensionChanged(ServerPlayer player) {
+        if (onlinePrisoners.contains(player.getUUID())) {
+            pendingFinalEnforcement.add(player.getUUID());
+        }
+    }
+
+    private void enterFinalMode(ServerPlayer player, HardcoreConfig.FinalMode mode) {
+        store(player).setFinalState(player.getUUID(), mode);
+        notifications.message(player, Component.translatable("message.limited_lifes.final." + mode.id()));
+        playSound(player, SoundEvents.WITHER_DEATH, 0.8F, 0.6F);
+    }
+
+    private void trackFinalState(ServerPlayer player) {
+        HardcoreConfig.FinalMode state = store(player).getFinalState(player.getUUID());
+        if (state == null) {
+            return;
+        }
+        if (state == HardcoreConfig.FinalMode.PRISON) {
+            onlinePrisoners.add(player.getUUID());
+        }
+        pendingFinalEnforcement.add(player.getUUID());
+    }
+
+    private void enforceFinalStates(MinecraftServer server) {
+        List<UUID> due = new ArrayList<>(pendingFinalEnforcement);
+        pendingFinalEnforcement.clear();
+        for (UUID playerUuid : due) {
+            ServerPlayer player = server.getPlayerList().getPlayer(playerUuid);
+            HardcoreConfig.FinalMode state = store(server).getFinalState(playerUuid);
+            if (player == null || state == null) {
+                continue;
+            }
+            switch (state) {
+                case BAN -> banPlayer(server, player);
+                case SPECTATOR -> {
+                    if (player.gameMode.getGameModeForPlayer() != GameType.SPECTATOR) {
+                        player.setGameMode(GameType.SPECTATOR);
+                    }
+                }
+                case PRISON -> confineToPrison(server, player);
+                case DEBT_MODE -> {
+                }
+            }
+        }
+    }
+
+    private void banPlayer(MinecraftServer server, ServerPlayer player) {
+        addBan(server, new NameAndId(player.getGameProfile()));
+        player.connection.disconnect(Component.translatable("message.limited_lifes.final.banned"));
+    }
+
+    private static void addBan(MinecraftServer server, NameAndId profile) {
+        Component reason = Component.translatable("message.limited_lifes.final.banned");
+        server.getPlayerList().getBans().add(new UserBanListEntry(
+                profile,
+                null,
+                LimitedLifes.MOD_ID,
+                null,
+                reason.getString()
+        ));
+    }
+
+    private void confineToPrison(MinecraftServer server, ServerPlayer player) {
+        PrisonRegion prison = config(server).prison();
+        if (prison.contains(player.level().dimension(), SectionPos.of(player))) {
+            return;
+        }
+        ServerLevel prisonLevel = server.getLevel(prison.dimension());
+        if (prisonLevel == null) {
+            LimitedLifes.LOGGER.warn("Prison dimension {} is not loaded", prison.dimension());
+            return;
+        }
+        BlockPos spawn = prison.spawn();
+        player.teleportTo(prisonLevel, spawn.getX() + 0.5D, spawn.getY(), spawn.getZ() + 0.5D, Set.of(), player.getYRot(), player.getXRot(), true);
+        notifications.message(player, Component.translatable("message.limited_lifes.prison.confined"));
+    }
+
+    public int queueBulkUpdate(
+            Collection<UUID> targets,
+            IntUnaryOperator update,
+            LivesChangeCause cause,
+            UUID actorUuid,
+            IntConsumer onComplete
+    ) {
+        bulkJobs.add(new BulkLivesJob(targets, (playerUuid, lives) -> update.applyAsInt(lives), cause, actorUuid, onComplete));
+        return targets.size();
+    }
+
+    public List<LivesStoreSnapshot> snapshots() {
+        return snapshotArchive.list();
+    }
+
+    public Optional<LivesStoreSnapshot> snapshot(int id) {
+        return snapshotArchive.get(id);
+    }
+
+    public LivesStoreSnapshot takeSnapshot(MinecraftServer server, String label) {
+        return takeSnapshot(server, false, label);
+    }
+
+    private LivesStoreSnapshot takeSnapshot(MinecraftServer server, boolean scheduled, String label) {
+        PlayerLivesStore store = store(server);
+        store.publishSnapshot();
+        return snapshotArchive.take(
+                LivesSnapshotPublisher.INSTANCE.current(),
+                store.copyFinalStates(),
+                store.copyRegenAnchors(),
+                scheduled,
+                label,
+                snapshotSettings(server)
+        );
+    }
+
+    public List<LivesStoreSnapshot.Change> diffSnapshot(MinecraftServer server, LivesStoreSnapshot snapshot, Collection<UUID> players) {
+        PlayerLivesStore store = store(server);
+        store.publishSnapshot();
+        LivesSnapshot current = LivesSnapshotPublisher.INSTANCE.current();
+        List<LivesStoreSnapshot.Change> changes = new ArrayList<>();
+        if (players != null) {
+            for (UUID playerUuid : players) {
+                addChange(changes, playerUuid, current, store, snapshot);
+            }
+            return changes;
+        }
+        current.forEach((playerUuid, lives) -> addChange(changes, playerUuid, current, store, snapshot));
+        snapshot.lives().forEach((playerUuid, lives) -> {
+            if (current.lives(playerUuid) == LivesSnapshot.UNKNOWN) {
+                addChange(changes, playerUuid, current, store, snapshot);
+            }
+        });
+        return changes;
+    }
+
+    private static void addChange(
+            List<LivesStoreSnapshot.Change> changes,
+            UUID playerUuid,
+            LivesSnapshot current,
+            PlayerLivesStore store,
+            LivesStoreSnapshot snapshot
+    ) {
+        int currentLives = current.lives(playerUuid);
+        if (currentLives == LivesSnapshot.UNKNOWN) {
+            currentLives = LivesRules.DEFAULT_LIVES;
+        }
+        int targetLives = snapshot.livesOf(playerUuid);
+        HardcoreConfig.FinalMode currentState = store.getFinalState(playerUuid);
+        HardcoreConfig.FinalMode targetState = snapshot.finalStateOf(playerUuid);
+        if (currentLives != targetLives || currentState != targetState) {
+            changes.add(new LivesStoreSnapshot.Change(
+                    playerUuid,
+                    currentLives,
+                    targetLives,
+                    currentState,
+                    targetState,
+                    snapshot.regenAnchorOf(playerUuid)
+            ));
+        }
+    }
+
+    public int rollback(MinecraftServer server, List<LivesStoreSnapshot.Change> changes, UUID actorUuid, IntConsumer onComplete) {
+        Map<UUID, LivesStoreSnapshot.Change> targets = new LinkedHashMap<>(changes.size() * 2);
+        for (LivesStoreSnapshot.Change change : changes) {
+            targets.put(change.playerUuid(), change);
+        }
+        bulkJobs.add(new BulkLivesJob(
+                targets.keySet(),
+                (playerUuid, lives) -> targets.get(playerUuid).target(),
+                LivesChangeCause.ROLLBACK,
+                actorUuid,
+                onComplete,
+                playerUuid -> restoreFromSnapshot(server, targets.get(playerUuid))
+        ));
+        return targets.size();
+    }
+
+    private boolean restoreFromSnapshot(MinecraftServer server, LivesStoreSnapshot.Change change) {
+        UUID playerUuid = change.playerUuid();
+        PlayerLivesStore store = store(server);
+        ServerPlayer player = server.getPlayerList().getPlayer(playerUuid);
+        if (player != null) {
+            regeneration.cancel(playerUuid);
+        }
+        store.setRegenAnchor(playerUuid, change.targetRegenAnchor());
+        if (player != null) {
+            resumeRegeneration(player);
+        }
+
+        HardcoreConfig.FinalMode current = store.getFinalState(playerUuid);
+        HardcoreConfig.FinalMode target = change.targetState();
+        if (current == target) {
+            return false;
+        }
+        NameAndId profile = server.services().nameToIdCache().get(playerUuid)
+                .orElseGet(() -> new NameAndId(playerUuid, playerUuid.toString()));
+        if (current != null) {
+            releaseFinalState(server, profile);
+        }
+        if (target == null) {
+            return true;
+        }
+        store.setFinalState(playerUuid, target);
+        if (player != null) {
+            trackFinalState(player);
+        } else if (target == HardcoreConfig.FinalMode.BAN) {
+            addBan(server, profile);
+        }
+        return true;
+    }
+
+    private HardcoreConfig.SnapshotSettings snapshotSettings(MinecraftServer server) {
+        return HardcoreConfig.get(server).snapshots();
+    }
+
+    public Set<UUID> knownPlayers(MinecraftServer server) {
+        Set<UUID> players = new LinkedHashSet<>();
+        store(server).forEachPlayer(players::add);
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            players.add(player.getUUID());
+        }
+        return players;
+    }
+
+    public void tick(MinecraftServer server) {
+        long startNanos = LivesMetrics.begin();
+        try {
+            tickServices(server);
+        } finally {
+            LivesMetrics.end(LivesPhase.SERVER_TICK, startNanos);
+        }
+    }
+
+    private void tickServices(MinecraftServer server) {
+        long gameTime = server.overworld().getGameTime();
+        ritualCooldowns.advance(gameTime);
+        debtReminders.advance(gameTime);
+        if (!bulkJobs.isEmpty()) {
+            processBulkJobs(server);
+        }
+        if (!pendingFinalEnforcement.isEmpty()) {
+            enforceFinalStates(server);
+        }
+        if (storageBackend != null) {
+            storageBackend.tick(server);
+        }
+        if (snapshotArchive.scheduledDue(snapshotSettings(server))) {
+            takeSnapshot(server, true, "");
+        }
+        tickRegeneration(server);
+        tickDifficulty(server);
+    }
+
+    private void onRemoteLivesChanged(MinecraftServer server, UUID playerUuid, int previous, int updated) {
+        recordLivesChange(playerUuid, previous, updated, LivesChangeCause.SHARED_STORAGE, null, server.overworld().getGameTime());
+        ServerPlayer player = server.getPlayerList().getPlayer(playerUuid);
+        if (player != null) {
+            recalculateMaxHealth(player, updated);
+            syncLivesDisplay(player, updated, true);
+            difficultyScheduler.scheduleNextTick(playerUuid, server.getTickCount());
+            onRegenerationLivesChanged(player, updated);
+        }
+    }
+
+    private void processBulkJobs(MinecraftServer server) {
+        PlayerLivesStore store = store(server);
+        long gameTime = server.overworld().getGameTime();
+        List<BulkLivesJob> completed = new ArrayList<>();
+        Set<ServerPlayer> changedPlayers = new LinkedHashSet<>();
+        int budget = BULK_UPDATES_PER_TICK;
+
+        store.beginBatch();
+        try {
+            while (budget > 0 && !bulkJobs.isEmpty()) {
+                BulkLivesJob job = bulkJobs.peek();
+                while (budget > 0 && job.hasNext()) {
+                    budget--;
+                    UUID playerUuid = job.next();
+                    int previous = store.getLives(playerUuid);
+                    int target = job.apply(playerUuid, previous);
+                    boolean changed = target != previous;
+                    if (changed) {
+                        store.setLives(playerUuid, target);
+                        recordLivesChange(playerUuid, previous, target, job.cause(), job.actorUuid(), gameTime);
+                    }
+                    if (job.restore(playerUuid)) {
+                        changed = true;
+                    }
+                    if (!changed) {
+                        continue;
+                    }
+                    job.markChanged();
+                    ServerPlayer player = server.getPlayerList().getPlayer(playerUuid);
+                    if (player != null) {
+                        changedPlayers.add(player);
+                    }
+                }
+                if (!job.hasNext()) {
+                    completed.add(bulkJobs.poll());
+                }
+            }
+        } finally {
+            store.endBatch();
+        }
+
+        long now = server.getTickCount();
+        for (ServerPlayer player : changedPlayers) {
+            int lives = store.getLives(player.getUUID());
+            recalculateMaxHealth(player, lives);
+            syncLivesDisplay(player, lives, true);
+            difficultyScheduler.scheduleNextTick(player.getUUID(), now);
+            onRegenerationLivesChanged(player, lives);
+        }
+        for (BulkLivesJob job : completed) {
+            job.complete();
+        }
+    }
+
+    private void tickDifficulty(MinecraftServer server) {
+        long startNanos = LivesMetrics.begin();
+        difficultyScheduler.runDue(server.getTickCount(), playerUuid -> {
+            ServerPlayer player = server.getPlayerList().getPlayer(playerUuid);
+            if (player != null) {
+                applyDifficultyTick(player);
+            }
+        });
+        LivesMetrics.end(LivesPhase.DIFFICULTY_TICK, startNanos);
+        LivesMetrics.onServerTick(server.getTickCount());
+    }
+
+    private void tickRegeneration(MinecraftServer server) {
+        regeneration.runDue(server.getTickCount(), playerUuid -> {
+            ServerPlayer player = server.getPlayerList().getPlayer(playerUuid);
+            if (player != null) {
+                regenerate(player);
+            }
+        });
+    }
+
+    private void resumeRegeneration(ServerPlayer player) {
+        HardcoreConfig.RegenerationSettings settings = config(player).regeneration();
+        UUID playerUuid = player.getUUID();
+        if (!settings.enabled() || regeneration.isScheduled(playerUuid)) {
+            return;
+        }
+        PlayerLivesStore store = store(player);
+        int lives = getLives(player);
+        if (lives >= settings.cap()) {
+            store.setRegenAnchor(playerUuid, PlayerLivesStore.NO_REGEN_ANCHOR);
+            return;
+        }
+        long now = serverTick(player);
+        long anchor = store.getRegenAnchor(playerUuid);
+        if (settings.clock() == HardcoreConfig.RegenerationClock.PLAYTIME) {
+            long intervalTicks = settings.intervalMillis() / MILLIS_PER_TICK;
+            long played = anchor == PlayerLivesStore.NO_REGEN_ANCHOR ? 0L : Math.max(0L, Math.min(anchor, intervalTicks));
+            store.setRegenAnchor(playerUuid, played);
+            regeneration.schedule(playerUuid, now + intervalTicks - played, now);
+            return;
+        }
+
+        long nowMillis = System.currentTimeMillis();
+        if (anchor == PlayerLivesStore.NO_REGEN_ANCHOR || anchor > nowMillis) {
+            anchor = nowMillis;
+        }
+        long periods = (nowMillis - anchor) / settings.intervalMillis();
+        anchor += periods * settings.intervalMillis();
+        store.setRegenAnchor(playerUuid, anchor);
+        scheduleWallClock(playerUuid, anchor, nowMillis, settings, now);
+        if (periods > 0) {
+            int gained = (int) Math.min(periods, settings.cap() - lives);
+            notifications.message(player, Component.translatable("message.limited_lifes.regenerated", gained));
+            setLives(player, lives + gained, LivesChangeCause.REGENERATION);
+        }
+    }
+
+    private void regenerate(ServerPlayer player) {
+        HardcoreConfig.RegenerationSettings settings = config(player).regeneration();
+        UUID playerUuid = player.getUUID();
+        int lives = getLives(player);
+        if (!settings.enabled() || lives >= settings.cap()) {
+            return;
+        }
+        PlayerLivesStore store = store(player);
+        long now = serverTick(player);
+        if (settings.clock() == HardcoreConfig.RegenerationClock.PLAYTIME) {
+            store.setRegenAnchor(playerUuid, 0L);
+            regeneration.schedule(playerUuid, now + settings.intervalMillis() / MILLIS_PER_TICK, now);
+        } else {
+            long nowMillis = System.currentTimeMillis();
+            long anchor = store.getRegenAnchor(playerUuid);
+            if (anchor != PlayerLivesStore.NO_REGEN_ANCHOR && nowMillis - anchor < settings.intervalMillis()) {
+                scheduleWallClock(playerUuid, anchor, nowMillis, settings, now);
+                return;
+            }
+            anchor = anchor == PlayerLivesStore.NO_REGEN_ANCHOR ? nowMillis : anchor + settings.intervalMillis();
+            store.setRegenAnchor(playerUuid, anchor);
+            scheduleWallClock(playerUuid, anchor, nowMillis, settings, now);
+        }
+        notifications.message(player, Component.translatable("message.limited_lifes.regenerated", 1));
+        setLives(player, lives + 1, LivesChangeCause.REGENERATION);
+    }
+
+    private void scheduleWallClock(UUID playerUuid, long anchor, long nowMillis, HardcoreConfig.RegenerationSettings settings, long now) {
+        long remainingMillis = anchor + settings.intervalMillis() - nowMillis;
+        regeneration.schedule(playerUuid, now + Math.ceilDiv(remainingMillis, MILLIS_PER_TICK), now);
+    }
+
+    private void onRegenerationLivesChanged(ServerPlayer player, int lives) {
+        HardcoreConfig.RegenerationSettings settings = config(player).regeneration();
+        UUID playerUuid = player.getUUID();
+        if (!settings.enabled()) {
+            return;
+        }
+        if (lives >= settings.cap()) {
+            regeneration.cancel(playerUuid);
+            store(player).setRegenAnchor(playerUuid, PlayerLivesStore.NO_REGEN_ANCHOR);
+        } else if (!regeneration.isScheduled(playerUuid)) {
+            store(player).setRegenAnchor(playerUuid, PlayerLivesStore.NO_REGEN_ANCHOR);
+            resumeRegeneration(player);
+        }
+    }
+
+    private void suspendRegeneration(ServerPlayer player) {
+        long dueTick = regeneration.cancel(player.getUUID());
+        if (dueTick == RegenerationScheduler.NOT_SCHEDULED) {
+            return;
+        }
+        HardcoreConfig.RegenerationSettings settings = config(player).regeneration();
+        if (settings.clock() != HardcoreConfig.RegenerationClock.PLAYTIME) {
+            return;
+        }
+        long intervalTicks = settings.intervalMillis() / MILLIS_PER_TICK;
+        long played = intervalTicks - (dueTick - serverTick(player));
+        store(player).setRegenAnchor(player.getUUID(), Math.max(0L, Math.min(played, intervalTicks)));
+    }
+
+    private void suspendRegeneration(MinecraftServer server) {
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            suspendRegeneration(player);
+        }
+    }
+
+    public int storedPlayers() {
+        PlayerLivesStore current = livesStore;
+        return current == null ? 0 : current.size();
+    }
+
+    public LivesDistribution distribution(MinecraftServer server) {
+        return store(server).distribution();
+    }
+
+    public DifficultyCurve difficultyCurve(MinecraftServer server) {
+        return config(server).difficulty();
+    }
+
+    public IntList livesInTier(MinecraftServer server, DifficultyCurve.Tier tier) {
+        CompiledHardcoreConfig current = config(server);
+        boolean debtFinalMode = current.finalMode() == HardcoreConfig.FinalMode.DEBT_MODE;
+        IntList values = new IntArrayList();
+        for (int lives = LivesRules.MAX_LIVES; lives >= LivesRules.MIN_LIVES; lives--) {
+            if (current.difficulty().forLives(lives, debtFinalMode && lives == LivesRules.MIN_LIVES) == tier) {
+                values.add(lives);
+            }
+        }
+        return values;
     }
 
     public void applyDifficultyTick(ServerPlayer player) {
         int lives = getLives(player);
-        applyDifficultyModifiers(player, lives);
+        long now = serverTick(player);
+        long refreshAt = applyDifficultyModifiers(player, lives, now);
+        if (refreshAt != AppliedEffectsTracker.NO_REFRESH) {
+            difficultyScheduler.schedule(player.getUUID(), refreshAt, now);
+        }
+    }
+
+    public void forgetPlayer(ServerPlayer player) {
+        suspendRegeneration(player);
+        if (storageBackend != null) {
+            storageBackend.forget(player.getUUID());
+        }
+        difficultyScheduler.cancel(player.getUUID());
+        appliedEffects.forget(player.getUUID());
+        ritualCooldowns.remove(player.getUUID());
+        debtReminders.remove(player.getUUID());
+        onlinePrisoners.remove(player.getUUID());
+        pendingFinalEnforcement.remove(player.getUUID());
+        syncedLivesDisplay.removeInt(player.getUUID());
+        notifications.forget(player.getUUID());
     }
 
     public boolean tryRitualRestore(ServerPlayer player, BlockState clickedState) {
-        HardcoreConfig config = config(player);
+        long startNanos = LivesMetrics.begin();
+        try {
+            return performRitualRestore(player, clickedState);
+        } finally {
+            LivesMetrics.end(LivesPhase.RITUAL, startNanos);
+        }
+    }
+
+    private boolean performRitualRestore(ServerPlayer player, BlockState clickedState) {
+        CompiledHardcoreConfig config = config(player);
         if (!matchesRitualAltar(config, clickedState)) {
             return false;
         }
 
         long now = player.level().getGameTime();
-        long lockedUntil = ritualCooldownUntilTick.getOrDefault(player.getUUID(), 0L);
+        long lockedUntil = ritualCooldowns.get(player.getUUID());
         if (now < lockedUntil) {
             long seconds = Math.max(1L, (lockedUntil - now) / 20L);
-            player.sendSystemMessage(Component.translatable("message.limited_lifes.ritual.cooldown", seconds));
+            notifications.message(player, Component.translatable("message.limited_lifes.ritual.cooldown", seconds));
+            LivesMetrics.ritual(RitualOutcome.COOLDOWN);
             return true;
         }
 
         if (!canRestoreLives(player)) {
-            player.sendSystemMessage(Component.translatable("message.limited_lifes.ritual.full_lives"));
+            notifications.message(player, Component.translatable("message.limited_lifes.ritual.full_lives"));
+            LivesMetrics.ritual(RitualOutcome.FULL_LIVES);
             return true;
         }
 
-        if (!hasItems(player, Items.TOTEM_OF_UNDYING, config.ritualTotemCost())
-                || !hasItems(player, Items.DIAMOND_BLOCK, config.ritualDiamondBlockCost())
-                || player.experienceLevel < config.ritualXpLevelsCost()) {
-            player.sendSystemMessage(Component.translatable(
-                    "message.limited_lifes.ritual.missing_resources",
-                    config.ritualTotemCost(),
-                    config.ritualDiamondBlockCost(),
-                    config.ritualXpLevelsCost()
-            ));
+        RitualCost cost = config.ritualCost();
+        if (player.experienceLevel < cost.xpLevels()
+                || !RitualInventory.tryConsume(player.getInventory(), cost.requirements())) {
+            notifications.message(player, Component.translatable("message.limited_lifes.ritual.missing_resources", cost.describe()));
+            LivesMetrics.ritual(RitualOutcome.MISSING_RESOURCES);
             return true;
         }
+        if (!cost.requirements().isEmpty()) {
+            player.inventoryMenu.broadcastChanges();
+        }
+        player.giveExperienceLevels(-cost.xpLevels());
 
-        consumeItems(player, Items.TOTEM_OF_UNDYING, config.ritualTotemCost());
-        consumeItems(player, Items.DIAMOND_BLOCK, config.ritualDiamondBlockCost());
-        player.giveExperienceLevels(-config.ritualXpLevelsCost());
-
-        int updated = restoreLives(player, 1);
-        ritualCooldownUntilTick.put(player.getUUID(), now + config.ritualCooldownTicks());
-        player.sendSystemMessage(Component.translatable("message.limited_lifes.ritual.success", updated, LivesRules.MAX_LIVES));
+        int updated = restoreLives(player, 1, LivesChangeCause.RITUAL, player.getUUID());
+        startRitualCooldown(player.getUUID(), now + config.ritualCooldownTicks(), now, config);
+        releaseFinalState(player.level().getServer(), new NameAndId(player.getGameProfile()));
+        notifications.message(player, Component.translatable("message.limited_lifes.ritual.success", updated, LivesRules.MAX_LIVES));
+        LivesMetrics.ritual(RitualOutcome.SUCCESS);
         playSound(player, SoundEvents.BEACON_POWER_SELECT, 1.0F, 1.2F);
         return true;
     }
 
+    private void startRitualCooldown(UUID playerUuid, long untilTick, long now, CompiledHardcoreConfig config) {
+        ritualCooldowns.set(playerUuid, untilTick, now);
+        if (config.persistRitualCooldowns() && cooldownStore != null && untilTick > now) {
+            cooldownStore.put(playerUuid, untilTick);
+        }
+    }
+
+    private void restoreRitualCooldown(ServerPlayer player) {
+        if (cooldownStore == null || !config(player).persistRitualCooldowns()) {
+            return;
+        }
+        long untilTick = cooldownStore.get(player.getUUID());
+        long now = player.level().getGameTime();
+        if (untilTick > now) {
+            ritualCooldowns.set(player.getUUID(), untilTick, now);
+        } else if (untilTick != TimerWheel.NONE) {
+            cooldownStore.remove(player.getUUID());
+        }
+    }
+
+    private void onRitualCooldownExpired(UUID playerUuid) {
+        if (cooldownStore != null) {
+            cooldownStore.remove(playerUuid);
+        }
+    }
+
     public boolean isRitualAltar(ServerPlayer player, BlockState clickedState) {
         return matchesRitualAltar(config(player), clickedState);
     }
@@ -122,156 +900,146 @@ public class LivesService {
         }
 
         double targetMaxHealth = LivesRules.livesToMaxHealth(lives);
-        maxHealthAttribute.setBaseValue(targetMaxHealth);
+        if (maxHealthAttribute.getBaseValue() != targetMaxHealth) {
+            maxHealthAttribute.setBaseValue(targetMaxHealth);
+        }
         if (player.getHealth() > targetMaxHealth) {
             player.setHealth((float) targetMaxHealth);
         }
     }
 
     private PlayerLivesStore store(ServerPlayer player) {
-        return PlayerLivesStore.get(player.level().getServer());
+        return store(player.level().getServer());
+    }
+
+    private PlayerLivesStore store(MinecraftServer server) {
+        PlayerLivesStore current = livesStore;
+        return current != null ? current : PlayerLivesStore.get(server);
+    }
+
+    public List<AuditEntry> history(UUID playerUuid, int limit) throws IOException {
+        if (auditLog == null) {
+            return List.of();
+        }
+        return auditLog.history(playerUuid, limit);
+    }
+
+    private void recordLivesChange(UUID playerUuid, int previous, int updated, LivesChangeCause cause, UUID actorUuid, long gameTime) {
+        if (previous == updated) {
+            return;
+        }
+        if (auditLog != null) {
+            try {
+                auditLog.append(System.currentTimeMillis(), playerUuid, previous, updated, cause, actorUuid);
+            } catch (IOException e) {
+                LimitedLifes.LOGGER.error("Failed to append lives audit record", e);
+            }
+        }
+        if (LivesEventDispatcher.INSTANCE.hasSubscribers()) {
+            LivesEventDispatcher.INSTANCE.publish(new LivesChangeEvent(playerUuid, previous, updated, cause, actorUuid, gameTime));
+        }
     }
 
     private void notifyOnLivesChanged(ServerPlayer player, int previousLives, int updatedLives) {
-        sendActionBar(player, updatedLives);
+        syncLivesDisplay(player, updatedLives, true);
 
         if (updatedLives < previousLives) {
-            player.sendSystemMessage(Component.translatable("message.limited_lifes.hearts_left", updatedLives));
+            notifications.message(player, Component.translatable("message.limited_lifes.hearts_left", updatedLives));
         } else if (updatedLives > previousLives) {
-            player.sendSystemMessage(Component.translatable("message.limited_lifes.hearts_restored", updatedLives));
+            notifications.message(player, Component.translatable("message.limited_lifes.hearts_restored", updatedLives));
         }
 
         if (updatedLives <= CRITICAL_LIVES_THRESHOLD && updatedLives < previousLives) {
-            player.sendSystemMessage(Component.translatable("message.limited_lifes.hearts_critical", updatedLives));
+            notifications.message(player, Component.translatable("message.limited_lifes.hearts_critical", updatedLives));
             playSound(player, SoundEvents.NOTE_BLOCK_BELL.value(), 0.9F, 0.55F);
         }
     }
 
-    private void sendActionBar(ServerPlayer player, int lives) {
-        player.displayClientMessage(
-                Component.translatable("actionbar.limited_lifes.hearts", lives, LivesRules.MAX_LIVES),
-                true
-        );
+    private void syncLivesDisplay(ServerPlayer player, int lives, boolean actionBarFallback) {
+        if (!ServerPlayNetworking.canSend(player, LivesSyncPayload.TYPE)) {
+            if (actionBarFallback) {
+                notifications.actionBar(
+                        player,
+                        Component.translatable("actionbar.limited_lifes.hearts", lives, LivesRules.MAX_LIVES)
+                );
+            }
+            return;
+        }
+        int tierIndex = tierFor(player, lives).index();
+        int synced = lives << 16 | tierIndex;
+        if (syncedLivesDisplay.getInt(player.getUUID()) != synced) {
+            syncedLivesDisplay.put(player.getUUID(), synced);
+            notifications.payload(player, new LivesSyncPayload(lives, LivesRules.MAX_LIVES, tierIndex));
+        }
     }
 
-    private void applyDifficultyModifiers(ServerPlayer player, int lives) {
-        if (lives >= 6) {
-            clearTrackedDebuffs(player);
-            debtReminderTick.remove(player.getUUID());
+    private void sendTiers(ServerPlayer player) {
+        if (!ServerPlayNetworking.canSend(player, LivesTiersPayload.TYPE)) {
             return;
         }
-
-        if (lives <= 5 && lives >= 4) {
-            applyEffect(player, MobEffects.HUNGER, 80, 0);
-        } else if (lives <= 3 && lives >= 2) {
-            applyEffect(player, MobEffects.HUNGER, 80, 1);
-            applyEffect(player, MobEffects.WEAKNESS, 80, 0);
-            applyEffect(player, MobEffects.MINING_FATIGUE, 80, 0);
-        } else if (lives == LivesRules.MIN_LIVES) {
-            applyEffect(player, MobEffects.HUNGER, 80, 2);
-            applyEffect(player, MobEffects.WEAKNESS, 80, 2);
-            applyEffect(player, MobEffects.MINING_FATIGUE, 80, 1);
-            applyEffect(player, MobEffects.SLOWNESS, 80, 1);
+        List<DifficultyCurve.Tier> tiers = config(player).difficulty().tiers();
+        List<String> tierIds = new ArrayList<>(tiers.size());
+        for (DifficultyCurve.Tier tier : tiers) {
+            tierIds.add(tier.id());
         }
+        ServerPlayNetworking.send(player, new LivesTiersPayload(tierIds));
+    }
 
-        applyDebtMode(player, lives);
+    private boolean isDebtMode(ServerPlayer player, int lives) {
+        return lives == LivesRules.MIN_LIVES && config(player).finalMode() == HardcoreConfig.FinalMode.DEBT_MODE;
     }
 
-    private void applyDebtMode(ServerPlayer player, int lives) {
-        if (lives != LivesRules.MIN_LIVES || config(player).finalMode() != HardcoreConfig.FinalMode.DEBT_MODE) {
-            debtReminderTick.remove(player.getUUID());
-            return;
-        }
+    private DifficultyCurve.Tier tierFor(ServerPlayer player, int lives) {
+        return config(player).difficulty().forLives(lives, isDebtMode(player, lives));
+    }
 
-        applyEffect(player, MobEffects.WEAKNESS, 80, 3);
-        applyEffect(player, MobEffects.SLOWNESS, 80, 2);
-        applyEffect(player, MobEffects.MINING_FATIGUE, 80, 2);
-        applyEffect(player, MobEffects.DARKNESS, 80, 0);
+    private long applyDifficultyModifiers(ServerPlayer player, int lives, long now) {
+        boolean debtMode = isDebtMode(player, lives);
+        long refreshAt = appliedEffects.apply(player, config(player).difficulty().forLives(lives, debtMode), now);
+        syncLivesDisplay(player, lives, false);
+        if (debtMode) {
+            remindDebtMode(player);
+        } else {
+            debtReminders.remove(player.getUUID());
+        }
+        return refreshAt;
+    }
 
-        long now = player.level().getGameTime();
-        long nextReminderAt = debtReminderTick.getOrDefault(player.getUUID(), 0L);
-        if (now >= nextReminderAt) {
-            player.sendSystemMessage(Component.translatable("message.limited_lifes.debt_mode.active"));
-            debtReminderTick.put(player.getUUID(), now + 20L * 15L);
+    private void remindDebtMode(ServerPlayer player) {
+        if (debtReminders.get(player.getUUID()) != TimerWheel.NONE) {
+            return;
         }
+        long now = player.level().getGameTime();
+        notifications.message(player, Component.translatable("message.limited_lifes.debt_mode.active"));
+        debtReminders.set(player.getUUID(), now + DEBT_REMINDER_INTERVAL_TICKS, now);
     }
 
     private void applyLastChanceBuff(ServerPlayer player) {
         int durationTicks = config(player).lastChanceDurationTicks();
         player.addEffect(new MobEffectInstance(MobEffects.RESISTANCE, durationTicks, 0, false, true, true));
         player.addEffect(new MobEffectInstance(MobEffects.SPEED, durationTicks, 0, false, true, true));
-        player.sendSystemMessage(Component.translatable("message.limited_lifes.last_chance", Math.max(1, durationTicks / 20)));
+        notifications.message(player, Component.translatable("message.limited_lifes.last_chance", Math.max(1, durationTicks / 20)));
         playSound(player, SoundEvents.TOTEM_USE, 1.0F, 1.0F);
     }
 
-    private void clearTrackedDebuffs(ServerPlayer player) {
-        player.removeEffect(MobEffects.HUNGER);
-        player.removeEffect(MobEffects.WEAKNESS);
-        player.removeEffect(MobEffects.MINING_FATIGUE);
-        player.removeEffect(MobEffects.SLOWNESS);
-        player.removeEffect(MobEffects.DARKNESS);
+    private boolean matchesRitualAltar(CompiledHardcoreConfig config, BlockState state) {
+        return state.is(config.ritualAltar());
     }
 
-    private void applyEffect(ServerPlayer player, net.minecraft.core.Holder<net.minecraft.world.effect.MobEffect> effect, int duration, int amplifier) {
-        player.addEffect(new MobEffectInstance(effect, duration, amplifier, false, false, true));
+    private static long serverTick(ServerPlayer player) {
+        return player.level().getServer().getTickCount();
     }
 
-    private boolean matchesRitualAltar(HardcoreConfig config, BlockState state) {
-        return BuiltInRegistries.BLOCK.getKey(state.getBlock()).toString().equals(config.ritualAltarBlockId());
+    private CompiledHardcoreConfig config(ServerPlayer player) {
+        return config(player.level().getServer());
     }
 
-    private boolean hasItems(ServerPlayer player, Item item, int requiredCount) {
-        if (requiredCount <= 0) {
-            return true;
-        }
-        int total = 0;
-        Inventory inventory = player.getInventory();
-        for (int slot = 0; slot < inventory.getContainerSize(); slot++) {
-            ItemStack stack = inventory.getItem(slot);
-            if (stack.is(item)) {
-                total += stack.getCount();
-                if (total >= requiredCount) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    private void consumeItems(ServerPlayer player, Item item, int count) {
-        if (count <= 0) {
-            return;
-        }
-        Inventory inventory = player.getInventory();
-        int remaining = count;
-        for (int slot = 0; slot < inventory.getContainerSize(); slot++) {
-            ItemStack stack = inventory.getItem(slot);
-            if (!stack.is(item)) {
-                continue;
-            }
-            int remove = Math.min(remaining, stack.getCount());
-            stack.shrink(remove);
-            remaining -= remove;
-            if (remaining <= 0) {
-                break;
-            }
-        }
-        inventory.setChanged();
-        player.inventoryMenu.broadcastChanges();
-    }
-
-    private HardcoreConfig config(ServerPlayer player) {
-        return HardcoreConfig.get(player.level().getServer());
+    private CompiledHardcoreConfig config(MinecraftServer server) {
+        CompiledHardcoreConfig current = config;
+        return current != null ? current : loadConfig(server);
     }
 
     private void playSound(ServerPlayer player, SoundEvent sound, float volume, float pitch) {
-        player.level().playSound(
-                null,
-                player.blockPosition(),
-                sound,
-                SoundSource.PLAYERS,
-                volume,
-                pitch
-        );
+        notifications.sound(player, sound, volume, pitch);
     }
 }
@@ -0,0 +1,138 @@
+package com.xetpy.lives;
+
+import com.xetpy.LimitedLifes;
+import com.xetpy.api.LivesSnapshot;
+import com.xetpy.config.HardcoreConfig;
+import com.xetpy.persistence.SnapshotWriter;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import net.minecraft.server.MinecraftServer;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+final class LivesSnapshotArchive {
+    private static final String DIRECTORY = "xetpy_lives_snapshots";
+    private static final String EXTENSION = ".dat";
+
+    private final SnapshotWriter writer;
+    private final List<LivesStoreSnapshot> snapshots = new ArrayList<>();
+    private Path directory;
+    private int nextId = 1;
+    private int ticksUntilScheduled;
+
+    LivesSnapshotArchive(SnapshotWriter writer) {
+        this.writer = writer;
+    }
+
+    void open(MinecraftServer server, HardcoreConfig.SnapshotSettings settings) {
+        snapshots.clear();
+        directory = SnapshotWriter.dataDirectory(server).resolve(DIRECTORY);
+        ticksUntilScheduled = settings.intervalTicks();
+        if (Files.isDirectory(directory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+                for (Path file : files) {
+                    SnapshotWriter.read(file, LivesStoreSnapshot.CODEC)
+                            .resultOrPartial(error -> LimitedLifes.LOGGER.warn("Skipping lives snapshot {}: {}", file, error))
+                            .ifPresent(snapshots::add);
+                }
+            } catch (IOException e) {
+                LimitedLifes.LOGGER.error("Failed to load lives snapshots from {}", directory, e);
+            }
+        }
+        snapshots.sort(Comparator.comparingInt(LivesStoreSnapshot::id));
+        nextId = snapshots.isEmpty() ? 1 : snapshots.getLast().id() + 1;
+    }
+
+    void close() {
+        snapshots.clear();
+        directory = null;
+    }
+
+    boolean scheduledDue(HardcoreConfig.SnapshotSettings settings) {
+        if (settings.intervalTicks() <= 0 || directory == null) {
+            return false;
+        }
+        if (--ticksUntilScheduled > 0) {
+            return false;
+        }
+        ticksUntilScheduled = settings.intervalTicks();
+        return true;
+    }
+
+    LivesStoreSnapshot take(
+            LivesSnapshot lives,
+            Map<UUID, HardcoreConfig.FinalMode> finalStates,
+            Object2LongMap<UUID> regenAnchors,
+            boolean scheduled,
+            String label,
+            HardcoreConfig.SnapshotSettings settings
+    ) {
+        LivesStoreSnapshot snapshot = new LivesStoreSnapshot(
+                nextId++,
+                System.currentTimeMillis(),
+                scheduled,
+                label,
+                lives,
+                finalStates,
+                regenAnchors
+        );
+        snapshots.add(snapshot);
+        if (directory != null) {
+            writer.submit(path(snapshot.id()), LivesStoreSnapshot.CODEC, snapshot, () -> {
+            });
+        }
+        prune(settings);
+        return snapshot;
+    }
+
+    List<LivesStoreSnapshot> list() {
+        return List.copyOf(snapshots);
+    }
+
+    Optional<LivesStoreSnapshot> get(int id) {
+        for (LivesStoreSnapshot snapshot : snapshots) {
+            if (snapshot.id() == id) {
+                return Optional.of(snapshot);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void prune(HardcoreConfig.SnapshotSettings settings) {
+        int scheduledExcess = count(true) - settings.keepScheduled();
+        int manualExcess = count(false) - settings.keepManual();
+        Iterator<LivesStoreSnapshot> iterator = snapshots.iterator();
+        while (iterator.hasNext() && (scheduledExcess > 0 || manualExcess > 0)) {
+            LivesStoreSnapshot snapshot = iterator.next();
+            if (snapshot.scheduled() ? scheduledExcess-- > 0 : manualExcess-- > 0) {
+                iterator.remove();
+                if (directory != null) {
+                    writer.delete(path(snapshot.id()));
+                }
+            }
+        }
+    }
+
+    private int count(boolean scheduled) {
+        int count = 0;
+        for (LivesStoreSnapshot snapshot : snapshots) {
+            if (snapshot.scheduled() == scheduled) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Path path(int id) {
+        return directory.resolve(id + EXTENSION);
+    }
+}
@@ -0,0 +1,99 @@
+package com.xetpy.lives;
+
+import com.xetpy.api.LivesSnapshot;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public final class LivesSnapshotPublisher {
+    public static final LivesSnapshotPublisher INSTANCE = new LivesSnapshotPublisher();
+    static final int SHARD_BITS = 8;
+    static final int SHARDS = 1 << SHARD_BITS;
+    static final int CHANGE_LOG_CAPACITY = 1024;
+
+    private final AtomicReferenceArray<ShardedLivesSnapshot.ChangeBatch> changeLog =
+            new AtomicReferenceArray<>(CHANGE_LOG_CAPACITY);
+    private final Object2IntOpenHashMap<UUID> pending = new Object2IntOpenHashMap<>();
+    private volatile ShardedLivesSnapshot current = ShardedLivesSnapshot.empty(0L, changeLog);
+
+    private LivesSnapshotPublisher() {
+    }
+
+    public LivesSnapshot current() {
+        return current;
+    }
+
+    void record(UUID playerUuid, int lives) {
+        pending.put(playerUuid, lives);
+    }
+
+    void reset(LivesTable table, LivesDistribution distribution) {
+        pending.clear();
+        long version = current.version() + 1L;
+        LivesTable[] shards = new LivesTable[SHARDS];
+        for (int i = 0; i < SHARDS; i++) {
+            shards[i] = new LivesTable(table.size() / SHARDS);
+        }
+        table.forEach((mostSignificant, leastSignificant, lives) ->
+                shards[shard(mostSignificant, leastSignificant)].put(mostSignificant, leastSignificant, lives));
+        current = new ShardedLivesSnapshot(version, version, shards, table.size(), histogram(distribution), changeLog);
+    }
+
+    void clear() {
+        pending.clear();
+        current = ShardedLivesSnapshot.empty(current.version() + 1L, changeLog);
+    }
+
+    void publish(LivesDistribution distribution) {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        ShardedLivesSnapshot previous = current;
+        long version = previous.version() + 1L;
+        LivesTable[] shards = previous.shards().clone();
+        boolean[] copied = new boolean[SHARDS];
+        UUID[] changedPlayers = new UUID[pending.size()];
+        byte[] changedLives = new byte[pending.size()];
+        int size = previous.size();
+        int index = 0;
+        for (Object2IntMap.Entry<UUID> entry : pending.object2IntEntrySet()) {
+            UUID playerUuid = entry.getKey();
+            long mostSignificant = playerUuid.getMostSignificantBits();
+            long leastSignificant = playerUuid.getLeastSignificantBits();
+            int shard = shard(mostSignificant, leastSignificant);
+            if (!copied[shard]) {
+                shards[shard] = shards[shard].copy();
+                copied[shard] = true;
+            }
+            if (shards[shard].put(mostSignificant, leastSignificant, entry.getIntValue()) == LivesTable.ABSENT) {
+                size++;
+            }
+            changedPlayers[index] = playerUuid;
+            changedLives[index] = (byte) entry.getIntValue();
+            index++;
+        }
+        pending.clear();
+
+        changeLog.set(
+                (int) (version % CHANGE_LOG_CAPACITY),
+                new ShardedLivesSnapshot.ChangeBatch(version, changedPlayers, changedLives)
+        );
+        current = new ShardedLivesSnapshot(version, previous.baseVersion(), shards, size, histogram(distribution), changeLog);
+    }
+
+    static int shard(long mostSignificant, long leastSignificant) {
+        return (int) (HashCommon.mix(mostSignificant ^ leastSignificant) >>> (Long.SIZE - SHARD_BITS));
+    }
+
+    private static int[] histogram(LivesDistribution distribution) {
+        int[] counts = new int[LivesRules.MAX_LIVES + 1];
+        for (int lives = LivesRules.MIN_LIVES; lives <= LivesRules.MAX_LIVES; lives++) {
+            counts[lives] = distribution.count(lives);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,37 @@
+package com.xetpy.lives;
+
+import com.xetpy.config.HardcoreConfig;
+import com.xetpy.persistence.SnapshotWriter;
+import net.minecraft.server.MinecraftServer;
+
+import java.util.UUID;
+
+public interface LivesStorageBackend {
+    PlayerLivesStore open(MinecraftServer server, SnapshotWriter writer);
+
+    default void prefetch(UUID playerUuid) {
+    }
+
+    default void tick(MinecraftServer server) {
+    }
+
+    default void forget(UUID playerUuid) {
+    }
+
+    void close(MinecraftServer server);
+
+    static LivesStorageBackend create(MinecraftServer server, HardcoreConfig.StorageSettings settings, RemoteChangeListener listener) {
+        return switch (settings.backend()) {
+            case SAVED_DATA -> new SavedDataLivesBackend();
+            case SHARED_FILE -> new SharedFileLivesBackend(
+                    new SharedLivesDatabase(server.getServerDirectory().resolve(settings.sharedDirectory())),
+                    listener
+            );
+        };
+    }
+
+    @FunctionalInterface
+    interface RemoteChangeListener {
+        void onRemoteChange(MinecraftServer server, UUID playerUuid, int previous, int updated);
+    }
+}
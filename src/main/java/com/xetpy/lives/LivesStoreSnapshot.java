@@ -0,0 +1,68 @@
+package com.xetpy.lives;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.xetpy.api.LivesSnapshot;
+import com.xetpy.config.HardcoreConfig;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record LivesStoreSnapshot(
+        int id,
+        long createdMillis,
+        boolean scheduled,
+        String label,
+        LivesSnapshot lives,
+        Map<UUID, HardcoreConfig.FinalMode> finalStates,
+        Object2LongMap<UUID> regenAnchors
+) {
+    static final Codec<LivesStoreSnapshot> CODEC = RecordCodecBuilder.create(instance ->
+            instance.group(
+                    Codec.INT.fieldOf("id").forGetter(LivesStoreSnapshot::id),
+                    Codec.LONG.fieldOf("createdMillis").forGetter(LivesStoreSnapshot::createdMillis),
+                    Codec.BOOL.optionalFieldOf("scheduled", false).forGetter(LivesStoreSnapshot::scheduled),
+                    Codec.STRING.optionalFieldOf("label", "").forGetter(LivesStoreSnapshot::label),
+                    PlayerLivesStore.LIVES_BY_PLAYER_CODEC
+                            .<LivesSnapshot>xmap(ShardedLivesSnapshot::of, ShardedLivesSnapshot::toTable)
+                            .fieldOf("players")
+                            .forGetter(LivesStoreSnapshot::lives),
+                    PlayerLivesStore.FINAL_STATES_CODEC.optionalFieldOf("finalStates", Map.of())
+                            .forGetter(LivesStoreSnapshot::finalStates),
+                    PlayerLivesStore.REGEN_ANCHORS_CODEC.optionalFieldOf("regenAnchors", new Object2LongOpenHashMap<>())
+                            .forGetter(LivesStoreSnapshot::regenAnchors)
+            ).apply(instance, LivesStoreSnapshot::new)
+    );
+
+    public int livesOf(UUID playerUuid) {
+        int stored = lives.lives(playerUuid);
+        return stored == LivesSnapshot.UNKNOWN ? LivesRules.DEFAULT_LIVES : stored;
+    }
+
+    public HardcoreConfig.FinalMode finalStateOf(UUID playerUuid) {
+        return finalStates.get(playerUuid);
+    }
+
+    public long regenAnchorOf(UUID playerUuid) {
+        return regenAnchors.containsKey(playerUuid) ? regenAnchors.getLong(playerUuid) : PlayerLivesStore.NO_REGEN_ANCHOR;
+    }
+
+    public record Change(
+            UUID playerUuid,
+            int current,
+            int target,
+            HardcoreConfig.FinalMode currentState,
+            HardcoreConfig.FinalMode targetState,
+            long targetRegenAnchor
+    ) {
+        public boolean livesChanged() {
+            return current != target;
+        }
+
+        public boolean finalStateChanged() {
+            return currentState != targetState;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.xetpy.lives;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+import java.util.UUID;
+
+final class LivesTable {
+    static final int ABSENT = 0;
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6F;
+
+    private long[] mostSignificantBits;
+    private long[] leastSignificantBits;
+    private byte[] lives;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    LivesTable() {
+        this(MIN_CAPACITY);
+    }
+
+    LivesTable(int expectedSize) {
+        allocate(HashCommon.arraySize(Math.max(MIN_CAPACITY, expectedSize), LOAD_FACTOR));
+    }
+
+    int get(UUID playerUuid) {
+        return get(playerUuid.getMostSignificantBits(), playerUuid.getLeastSignificantBits());
+    }
+
+    int get(long mostSignificant, long leastSignificant) {
+        int slot = slot(mostSignificant, leastSignificant);
+        while (lives[slot] != ABSENT) {
+            if (mostSignificantBits[slot] == mostSignificant && leastSignificantBits[slot] == leastSignificant) {
+                return lives[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return ABSENT;
+    }
+
+    int put(UUID playerUuid, int value) {
+        return put(playerUuid.getMostSignificantBits(), playerUuid.getLeastSignificantBits(), value);
+    }
+
+    int put(long mostSignificant, long leastSignificant, int value) {
+        if (value <= ABSENT || value > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Lives value out of range: " + value);
+        }
+
+        int slot = slot(mostSignificant, leastSignificant);
+        while (lives[slot] != ABSENT) {
+            if (mostSignificantBits[slot] == mostSignificant && leastSignificantBits[slot] == leastSignificant) {
+                int previous = lives[slot];
+                lives[slot] = (byte) value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        mostSignificantBits[slot] = mostSignificant;
+        leastSignificantBits[slot] = leastSignificant;
+        lives[slot] = (byte) value;
+        if (++size >= resizeThreshold) {
+            rehash(lives.length * 2);
+        }
+        return ABSENT;
+    }
+
+    LivesTable copy() {
+        LivesTable copy = new LivesTable(MIN_CAPACITY);
+        copy.mostSignificantBits = mostSignificantBits.clone();
+        copy.leastSignificantBits = leastSignificantBits.clone();
+        copy.lives = lives.clone();
+        copy.mask = mask;
+        copy.size = size;
+        copy.resizeThreshold = resizeThreshold;
+        return copy;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(Visitor visitor) {
+        for (int slot = 0; slot < lives.length; slot++) {
+            if (lives[slot] != ABSENT) {
+                visitor.visit(mostSignificantBits[slot], leastSignificantBits[slot], lives[slot]);
+            }
+        }
+    }
+
+    private int slot(long mostSignificant, long leastSignificant) {
+        return (int) HashCommon.mix(mostSignificant ^ leastSignificant) & mask;
+    }
+
+    private void allocate(int capacity) {
+        mostSignificantBits = new long[capacity];
+        leastSignificantBits = new long[capacity];
+        lives = new byte[capacity];
+        mask = capacity - 1;
+        resizeThreshold = HashCommon.maxFill(capacity, LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldMost = mostSignificantBits;
+        long[] oldLeast = leastSignificantBits;
+        byte[] oldLives = lives;
+        allocate(capacity);
+        for (int oldSlot = 0; oldSlot < oldLives.length; oldSlot++) {
+            if (oldLives[oldSlot] == ABSENT) {
+                continue;
+            }
+            int slot = slot(oldMost[oldSlot], oldLeast[oldSlot]);
+            while (lives[slot] != ABSENT) {
+                slot = (slot + 1) & mask;
+            }
+            mostSignificantBits[slot] = oldMost[oldSlot];
+            leastSignificantBits[slot] = oldLeast[oldSlot];
+            lives[slot] = oldLives[oldSlot];
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(long mostSignificant, long leastSignificant, int lives);
+    }
+}
@@ -0,0 +1,111 @@
+package com.xetpy.lives;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayNetworking;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.sounds.SoundEvent;
+import net.minecraft.sounds.SoundSource;
+import net.minecraft.world.level.Level;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+final class NotificationOutbox {
+    private final Object2ObjectLinkedOpenHashMap<UUID, PendingOutput> pending = new Object2ObjectLinkedOpenHashMap<>();
+    private final Object2ObjectLinkedOpenHashMap<SoundKey, SoundEmission> sounds = new Object2ObjectLinkedOpenHashMap<>();
+
+    void message(ServerPlayer player, Component message) {
+        output(player).messages.add(message);
+    }
+
+    void actionBar(ServerPlayer player, Component message) {
+        output(player).actionBar = message;
+    }
+
+    void payload(ServerPlayer player, CustomPacketPayload payload) {
+        output(player).payload = payload;
+    }
+
+    void sound(ServerPlayer player, SoundEvent sound, float volume, float pitch) {
+        SoundKey key = new SoundKey(player.level().dimension(), player.blockPosition(), sound);
+        SoundEmission emission = sounds.get(key);
+        if (emission == null) {
+            sounds.put(key, new SoundEmission(volume, pitch));
+        } else {
+            emission.volume = Math.max(emission.volume, volume);
+        }
+    }
+
+    void forget(UUID playerUuid) {
+        pending.remove(playerUuid);
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty() && sounds.isEmpty();
+    }
+
+    void flush(MinecraftServer server) {
+        for (Map.Entry<UUID, PendingOutput> entry : pending.entrySet()) {
+            ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+            if (player == null) {
+                continue;
+            }
+            PendingOutput output = entry.getValue();
+            for (Component message : output.messages) {
+                player.sendSystemMessage(message);
+            }
+            if (output.actionBar != null) {
+                player.displayClientMessage(output.actionBar, true);
+            }
+            if (output.payload != null) {
+                ServerPlayNetworking.send(player, output.payload);
+            }
+        }
+        pending.clear();
+
+        for (Map.Entry<SoundKey, SoundEmission> entry : sounds.entrySet()) {
+            SoundKey key = entry.getKey();
+            ServerLevel level = server.getLevel(key.dimension());
+            if (level != null) {
+                level.playSound(null, key.pos(), key.sound(), SoundSource.PLAYERS, entry.getValue().volume, entry.getValue().pitch);
+            }
+        }
+        sounds.clear();
+    }
+
+    void clear() {
+        pending.clear();
+        sounds.clear();
+    }
+
+    private PendingOutput output(ServerPlayer player) {
+        return pending.computeIfAbsent(player.getUUID(), ignored -> new PendingOutput());
+    }
+
+    private static final class PendingOutput {
+        private final Set<Component> messages = new LinkedHashSet<>(4);
+        private Component actionBar;
+        private CustomPacketPayload payload;
+    }
+
+    private record SoundKey(ResourceKey<Level> dimension, BlockPos pos, SoundEvent sound) {
+    }
+
+    private static final class SoundEmission {
+        private float volume;
+        private final float pitch;
+
+        private SoundEmission(float volume, float pitch) {
+            this.volume = volume;
+            this.pitch = pitch;
+        }
+    }
+}
@@ -2,6 +2,14 @@ package com.xetpy.lives;
 
 import com.mojang.serialization.Codec;
 import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.xetpy.LimitedLifes;
+import com.xetpy.config.HardcoreConfig;
+import com.xetpy.metrics.LivesMetrics;
+import com.xetpy.metrics.LivesPhase;
+import com.xetpy.persistence.SnapshotWriter;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMaps;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.util.datafix.DataFixTypes;
 import net.minecraft.world.level.Level;
@@ -9,34 +17,109 @@ import net.minecraft.world.level.saveddata.SavedData;
 import net.minecraft.world.level.saveddata.SavedDataType;
 import net.minecraft.world.level.storage.DimensionDataStorage;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
 
 public class PlayerLivesStore extends SavedData {
+    public static final long NO_REGEN_ANCHOR = Long.MIN_VALUE;
     private static final String STORAGE_KEY = "xetpy_player_lives";
     private static final String PLAYERS_KEY = "players";
-    private static final Codec<Map<UUID, Integer>> LIVES_BY_PLAYER_CODEC = Codec.unboundedMap(Codec.STRING, Codec.INT).xmap(
+    private static final String JOURNAL_SEQUENCE_KEY = "journalSequence";
+    private static final String FINAL_STATES_KEY = "finalStates";
+    private static final String REGEN_ANCHORS_KEY = "regenAnchors";
+    private static final String GAME_MODE_RESTORES_KEY = "gameModeRestores";
+    private static final String JOURNAL_DIRECTORY = STORAGE_KEY + "_journal";
+    private static final int COMPACT_AFTER_RECORDS = 4096;
+    static final Codec<LivesTable> LIVES_BY_PLAYER_CODEC = Codec.unboundedMap(Codec.STRING, Codec.INT).xmap(
             PlayerLivesStore::deserializeLivesMap,
             PlayerLivesStore::serializeLivesMap
     );
+    static final Codec<Map<UUID, HardcoreConfig.FinalMode>> FINAL_STATES_CODEC =
+            Codec.unboundedMap(Codec.STRING, Codec.STRING).xmap(
+                    PlayerLivesStore::deserializeFinalStates,
+                    PlayerLivesStore::serializeFinalStates
+            );
+    static final Codec<Object2LongMap<UUID>> REGEN_ANCHORS_CODEC =
+            Codec.unboundedMap(Codec.STRING, Codec.LONG).xmap(
+                    PlayerLivesStore::deserializeRegenAnchors,
+                    PlayerLivesStore::serializeRegenAnchors
+            );
+    private static final Codec<Set<UUID>> GAME_MODE_RESTORES_CODEC = Codec.STRING.listOf().xmap(
+            PlayerLivesStore::deserializePlayerSet,
+            PlayerLivesStore::serializePlayerSet
+    );
     private static final Codec<PlayerLivesStore> CODEC = RecordCodecBuilder.create(instance ->
             instance.group(
-                    LIVES_BY_PLAYER_CODEC.optionalFieldOf(PLAYERS_KEY, Map.of()).forGetter(store -> store.livesByPlayer)
-            ).apply(instance, PlayerLivesStore::new)
+                    LIVES_BY_PLAYER_CODEC.optionalFieldOf(PLAYERS_KEY).forGetter(store -> Optional.of(store.livesByPlayer)),
+                    Codec.LONG.optionalFieldOf(JOURNAL_SEQUENCE_KEY, 0L).forGetter(store -> store.journalSequence),
+                    FINAL_STATES_CODEC.optionalFieldOf(FINAL_STATES_KEY, Map.of()).forGetter(store -> store.finalStates),
+                    REGEN_ANCHORS_CODEC.optionalFieldOf(REGEN_ANCHORS_KEY).forGetter(store -> Optional.of(store.regenAnchors)),
+                    GAME_MODE_RESTORES_CODEC.optionalFieldOf(GAME_MODE_RESTORES_KEY, Set.of()).forGetter(store -> store.gameModeRestores)
+            ).apply(instance, (table, journalSequence, finalStates, regenAnchors, gameModeRestores) -> decoded(
+                    table.orElseGet(LivesTable::new),
+                    journalSequence,
+                    finalStates,
+                    regenAnchors.orElseGet(Object2LongOpenHashMap::new),
+                    gameModeRestores
+            ))
     );
     private static final SavedDataType<PlayerLivesStore> TYPE =
             new SavedDataType<>(STORAGE_KEY, PlayerLivesStore::new, CODEC, DataFixTypes.LEVEL);
 
-    private final Map<UUID, Integer> livesByPlayer;
+    private final LivesTable livesByPlayer;
+    private final LivesDistribution distribution;
+    private final Map<UUID, HardcoreConfig.FinalMode> finalStates;
+    private final Object2LongOpenHashMap<UUID> regenAnchors;
+    private final Set<UUID> gameModeRestores;
+    private long journalSequence;
+    private LivesJournal journal;
+    private SnapshotWriter snapshotWriter;
+    private Path dataFile;
+    private volatile long durableSequence;
+    private boolean batching;
+    private boolean batchDirty;
+    private LivesSnapshotPublisher snapshots;
+    private ObjIntConsumer<UUID> changeListener;
 
     public PlayerLivesStore() {
-        this(new HashMap<>());
+        this(new LivesTable(), 0L, Map.of(), new Object2LongOpenHashMap<>(), Set.of());
+    }
+
+    private PlayerLivesStore(
+            LivesTable livesByPlayer,
+            long journalSequence,
+            Map<UUID, HardcoreConfig.FinalMode> finalStates,
+            Object2LongMap<UUID> regenAnchors,
+            Set<UUID> gameModeRestores
+    ) {
+        this.livesByPlayer = livesByPlayer;
+        this.distribution = new LivesDistribution(livesByPlayer);
+        this.journalSequence = journalSequence;
+        this.finalStates = new HashMap<>(finalStates);
+        this.regenAnchors = new Object2LongOpenHashMap<>(regenAnchors);
+        this.regenAnchors.defaultReturnValue(NO_REGEN_ANCHOR);
+        this.gameModeRestores = new HashSet<>(gameModeRestores);
     }
 
-    private PlayerLivesStore(Map<UUID, Integer> livesByPlayer) {
-        this.livesByPlayer = new HashMap<>();
-        livesByPlayer.forEach((uuid, lives) -> this.livesByPlayer.put(uuid, LivesRules.clampLives(lives)));
+    private static PlayerLivesStore decoded(
+            LivesTable livesByPlayer,
+            long journalSequence,
+            Map<UUID, HardcoreConfig.FinalMode> finalStates,
+            Object2LongMap<UUID> regenAnchors,
+            Set<UUID> gameModeRestores
+    ) {
+        PlayerLivesStore store = new PlayerLivesStore(livesByPlayer, journalSequence, finalStates, regenAnchors, gameModeRestores);
+        store.distribution.rebuild();
+        return store;
     }
 
     public static PlayerLivesStore get(MinecraftServer server) {
@@ -49,45 +132,395 @@ public class PlayerLivesStore extends SavedData {
     }
 
     public int getLives(UUID playerUuid) {
-        Integer current = livesByPlayer.get(playerUuid);
-        if (current == null) {
-            int initial = LivesRules.DEFAULT_LIVES;
-            livesByPlayer.put(playerUuid, initial);
-            setDirty();
-            return initial;
+        int current = livesByPlayer.get(playerUuid);
+        if (current != LivesTable.ABSENT) {
+            return current;
         }
 
-        int normalized = LivesRules.clampLives(current);
-        if (normalized != current) {
-            livesByPlayer.put(playerUuid, normalized);
-            setDirty();
+        int initial = LivesRules.DEFAULT_LIVES;
+        livesByPlayer.put(playerUuid, initial);
+        distribution.move(playerUuid, LivesTable.ABSENT, initial);
+        recordChange(playerUuid, initial);
+        if (snapshots != null) {
+            snapshots.record(playerUuid, initial);
         }
-        return normalized;
+        return initial;
     }
 
     public int setLives(UUID playerUuid, int lives) {
         int normalized = LivesRules.clampLives(lives);
-        livesByPlayer.put(playerUuid, normalized);
-        setDirty();
+        int previous = livesByPlayer.put(playerUuid, normalized);
+        distribution.move(playerUuid, previous, normalized);
+        recordChange(playerUuid, normalized);
+        if (previous != normalized) {
+            if (snapshots != null) {
+                snapshots.record(playerUuid, normalized);
+            }
+            if (changeListener != null) {
+                changeListener.accept(playerUuid, previous == LivesTable.ABSENT ? LivesRules.DEFAULT_LIVES : previous);
+            }
+        }
         return normalized;
     }
 
-    private static Map<UUID, Integer> deserializeLivesMap(Map<String, Integer> rawMap) {
-        Map<UUID, Integer> parsed = new HashMap<>();
+    int peekLives(UUID playerUuid) {
+        return livesByPlayer.get(playerUuid);
+    }
+
+    int applyShared(UUID playerUuid, int lives) {
+        int normalized = LivesRules.clampLives(lives);
+        int previous = livesByPlayer.put(playerUuid, normalized);
+        distribution.move(playerUuid, previous, normalized);
+        recordChange(playerUuid, normalized);
+        if (snapshots != null) {
+            snapshots.record(playerUuid, normalized);
+        }
+        return previous == LivesTable.ABSENT ? LivesRules.DEFAULT_LIVES : previous;
+    }
+
+    void listenForChanges(ObjIntConsumer<UUID> listener) {
+        changeListener = listener;
+    }
+
+    public void openJournal(MinecraftServer server, SnapshotWriter writer) {
+        closeJournal();
+        Path dataDirectory = SnapshotWriter.dataDirectory(server);
+        Path journalDirectory = dataDirectory.resolve(JOURNAL_DIRECTORY);
+        try {
+            journal = LivesJournal.open(
+                    journalDirectory,
+                    journalSequence,
+                    livesByPlayer,
+                    finalStates,
+                    regenAnchors,
+                    gameModeRestores
+            );
+        } catch (IOException e) {
+            LimitedLifes.LOGGER.error("Failed to open lives journal at {}, falling back to full saves", journalDirectory, e);
+            journal = null;
+            return;
+        } finally {
+            distribution.rebuild();
+        }
+        snapshotWriter = writer;
+        dataFile = dataDirectory.resolve(STORAGE_KEY + ".dat");
+        durableSequence = journalSequence;
+        setDirty(false);
+    }
+
+    void publishTo(LivesSnapshotPublisher publisher) {
+        snapshots = publisher;
+        if (publisher != null) {
+            publisher.reset(livesByPlayer, distribution);
+        }
+    }
+
+    void publishSnapshot() {
+        if (snapshots != null) {
+            snapshots.publish(distribution);
+        }
+    }
+
+    public void compactJournal() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            journalSequence = journal.rotate();
+        } catch (IOException e) {
+            LimitedLifes.LOGGER.error("Failed to rotate lives journal", e);
+            fallBackToFullSaves();
+            return;
+        }
+
+        long coveredSequence = journalSequence;
+        PlayerLivesStore snapshot = new PlayerLivesStore(
+                livesByPlayer.copy(),
+                coveredSequence,
+                finalStates,
+                regenAnchors,
+                gameModeRestores
+        );
+        snapshotWriter.submit(dataFile, CODEC, snapshot, () -> durableSequence = coveredSequence);
+        pruneJournal();
+    }
+
+    public void closeJournal() {
+        if (journal == null) {
+            return;
+        }
+        pruneJournal();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            LimitedLifes.LOGGER.error("Failed to close lives journal", e);
+        }
+        journal = null;
+        snapshotWriter = null;
+    }
+
+    private void fallBackToFullSaves() {
+        LimitedLifes.LOGGER.warn("Lives journal disabled, falling back to full saves");
+        journalSequence = journal.sequence();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            LimitedLifes.LOGGER.error("Failed to close lives journal", e);
+        }
+        journal = null;
+        snapshotWriter.flush();
+        snapshotWriter = null;
+        setDirty();
+    }
+
+    private void pruneJournal() {
+        try {
+            journal.deleteCoveredGenerations(durableSequence);
+        } catch (IOException e) {
+            LimitedLifes.LOGGER.warn("Failed to delete compacted lives journal generations", e);
+        }
+    }
+
+    public void beginBatch() {
+        batching = true;
+        batchDirty = false;
+        if (journal != null) {
+            try {
+                journal.setBuffered(true);
+            } catch (IOException e) {
+                LimitedLifes.LOGGER.error("Failed to flush lives journal", e);
+            }
+        }
+    }
+
+    public void endBatch() {
+        batching = false;
+        if (journal == null) {
+            if (batchDirty) {
+                setDirty();
+            }
+            return;
+        }
+        try {
+            journal.setBuffered(false);
+        } catch (IOException e) {
+            LimitedLifes.LOGGER.error("Failed to flush lives journal", e);
+            fallBackToFullSaves();
+            return;
+        }
+        if (journal.activeRecords() >= COMPACT_AFTER_RECORDS) {
+            compactJournal();
+        }
+    }
+
+    public void forEachPlayer(Consumer<UUID> action) {
+        livesByPlayer.forEach((mostSignificant, leastSignificant, lives) ->
+                action.accept(new UUID(mostSignificant, leastSignificant)));
+    }
+
+    private void recordChange(UUID playerUuid, int lives) {
+        if (journal == null) {
+            if (batching) {
+                batchDirty = true;
+            } else {
+                setDirty();
+            }
+            return;
+        }
+        try {
+            journal.append(playerUuid, lives);
+        } catch (IOException e) {
+            LimitedLifes.LOGGER.error("Failed to append to lives journal", e);
+            fallBackToFullSaves();
+            return;
+        }
+        compactIfDue();
+    }
+
+    private void compactIfDue() {
+        if (!batching && journal.activeRecords() >= COMPACT_AFTER_RECORDS) {
+            compactJournal();
+        }
+    }
+
+    public HardcoreConfig.FinalMode getFinalState(UUID playerUuid) {
+        return finalStates.get(playerUuid);
+    }
+
+    public void setFinalState(UUID playerUuid, HardcoreConfig.FinalMode mode) {
+        HardcoreConfig.FinalMode previous = mode == null ? finalStates.remove(playerUuid) : finalStates.put(playerUuid, mode);
+        if (previous == mode) {
+            return;
+        }
+        if (journal == null) {
+            setDirty();
+            return;
+        }
+        try {
+            journal.appendFinalState(playerUuid, mode);
+        } catch (IOException e) {
+            LimitedLifes.LOGGER.error("Failed to append to lives journal", e);
+            fallBackToFullSaves();
+            return;
+        }
+        compactIfDue();
+    }
+
+    public void requestGameModeRestore(UUID playerUuid) {
+        if (gameModeRestores.add(playerUuid)) {
+            recordGameModeRestore(playerUuid, true);
+        }
+    }
+
+    public boolean consumeGameModeRestore(UUID playerUuid) {
+        if (!gameModeRestores.remove(playerUuid)) {
+            return false;
+        }
+        recordGameModeRestore(playerUuid, false);
+        return true;
+    }
+
+    private void recordGameModeRestore(UUID playerUuid, boolean pending) {
+        if (journal == null) {
+            setDirty();
+            return;
+        }
+        try {
+            journal.appendGameModeRestore(playerUuid, pending);
+        } catch (IOException e) {
+            LimitedLifes.LOGGER.error("Failed to append to lives journal", e);
+            fallBackToFullSaves();
+            return;
+        }
+        compactIfDue();
+    }
+
+    Map<UUID, HardcoreConfig.FinalMode> copyFinalStates() {
+        return Map.copyOf(finalStates);
+    }
+
+    Object2LongMap<UUID> copyRegenAnchors() {
+        return new Object2LongOpenHashMap<>(regenAnchors);
+    }
+
+    public long getRegenAnchor(UUID playerUuid) {
+        return regenAnchors.getLong(playerUuid);
+    }
+
+    public void setRegenAnchor(UUID playerUuid, long anchor) {
+        long previous = anchor == NO_REGEN_ANCHOR ? regenAnchors.removeLong(playerUuid) : regenAnchors.put(playerUuid, anchor);
+        if (previous == anchor) {
+            return;
+        }
+        if (journal == null) {
+            setDirty();
+            return;
+        }
+        try {
+            journal.appendRegenAnchor(playerUuid, anchor);
+        } catch (IOException e) {
+            LimitedLifes.LOGGER.error("Failed to append to lives journal", e);
+            fallBackToFullSaves();
+            return;
+        }
+        compactIfDue();
+    }
+
+    public void clearRegenAnchors() {
+        if (regenAnchors.isEmpty()) {
+            return;
+        }
+        regenAnchors.clear();
+        if (journal == null) {
+            setDirty();
+            return;
+        }
+        try {
+            journal.appendRegenAnchorsCleared();
+        } catch (IOException e) {
+            LimitedLifes.LOGGER.error("Failed to append to lives journal", e);
+            fallBackToFullSaves();
+            return;
+        }
+        compactIfDue();
+    }
+
+    public int size() {
+        return livesByPlayer.size();
+    }
+
+    public LivesDistribution distribution() {
+        return distribution;
+    }
+
+    private static LivesTable deserializeLivesMap(Map<String, Integer> rawMap) {
+        long startNanos = LivesMetrics.begin();
+        LivesTable parsed = new LivesTable(rawMap.size());
         for (Map.Entry<String, Integer> entry : rawMap.entrySet()) {
             try {
                 parsed.put(UUID.fromString(entry.getKey()), LivesRules.clampLives(entry.getValue()));
             } catch (IllegalArgumentException ignored) {
             }
         }
+        LivesMetrics.end(LivesPhase.STORE_DECODE, startNanos);
         return parsed;
     }
 
-    private static Map<String, Integer> serializeLivesMap(Map<UUID, Integer> rawMap) {
-        Map<String, Integer> serialized = new HashMap<>();
-        for (Map.Entry<UUID, Integer> entry : rawMap.entrySet()) {
-            serialized.put(entry.getKey().toString(), LivesRules.clampLives(entry.getValue()));
+    private static Map<UUID, HardcoreConfig.FinalMode> deserializeFinalStates(Map<String, String> rawMap) {
+        Map<UUID, HardcoreConfig.FinalMode> parsed = new HashMap<>(rawMap.size() * 2);
+        for (Map.Entry<String, String> entry : rawMap.entrySet()) {
+            try {
+                parsed.put(UUID.fromString(entry.getKey()), HardcoreConfig.FinalMode.fromId(entry.getValue()));
+            } catch (IllegalArgumentException ignored) {
+            }
         }
+        return parsed;
+    }
+
+    private static Map<String, String> serializeFinalStates(Map<UUID, HardcoreConfig.FinalMode> finalStates) {
+        Map<String, String> serialized = new HashMap<>(finalStates.size() * 2);
+        finalStates.forEach((playerUuid, mode) -> serialized.put(playerUuid.toString(), mode.id()));
+        return serialized;
+    }
+
+    private static Set<UUID> deserializePlayerSet(List<String> rawList) {
+        Set<UUID> parsed = new HashSet<>(rawList.size() * 2);
+        for (String raw : rawList) {
+            try {
+                parsed.add(UUID.fromString(raw));
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        return parsed;
+    }
+
+    private static List<String> serializePlayerSet(Set<UUID> players) {
+        return players.stream().map(UUID::toString).toList();
+    }
+
+    private static Object2LongMap<UUID> deserializeRegenAnchors(Map<String, Long> rawMap) {
+        Object2LongOpenHashMap<UUID> parsed = new Object2LongOpenHashMap<>(rawMap.size());
+        for (Map.Entry<String, Long> entry : rawMap.entrySet()) {
+            try {
+                parsed.put(UUID.fromString(entry.getKey()), entry.getValue().longValue());
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        return parsed;
+    }
+
+    private static Map<String, Long> serializeRegenAnchors(Object2LongMap<UUID> regenAnchors) {
+        Map<String, Long> serialized = new HashMap<>(regenAnchors.size() * 2);
+        Object2LongMaps.fastForEach(regenAnchors, entry -> serialized.put(entry.getKey().toString(), entry.getLongValue()));
+        return serialized;
+    }
+
+    private static Map<String, Integer> serializeLivesMap(LivesTable table) {
+        long startNanos = LivesMetrics.begin();
+        Map<String, Integer> serialized = new HashMap<>(table.size() * 2);
+        table.forEach((mostSignificant, leastSignificant, lives) ->
+                serialized.put(new UUID(mostSignificant, leastSignificant).toString(), lives));
+        LivesMetrics.end(LivesPhase.STORE_ENCODE, startNanos);
         return serialized;
     }
 }
@@ -0,0 +1,128 @@
+package com.xetpy.lives;
+
+import it.unimi.dsi.fastutil.HashCommon;
+
+import java.util.Arrays;
+
+final class PlayerSet {
+    private static final int MIN_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.6F;
+
+    private long[] mostSignificantBits;
+    private long[] leastSignificantBits;
+    private boolean[] used;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    PlayerSet() {
+        allocate(HashCommon.arraySize(MIN_CAPACITY, LOAD_FACTOR));
+    }
+
+    boolean add(long mostSignificant, long leastSignificant) {
+        int slot = slot(mostSignificant, leastSignificant);
+        while (used[slot]) {
+            if (mostSignificantBits[slot] == mostSignificant && leastSignificantBits[slot] == leastSignificant) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        mostSignificantBits[slot] = mostSignificant;
+        leastSignificantBits[slot] = leastSignificant;
+        used[slot] = true;
+        if (++size >= resizeThreshold) {
+            rehash(used.length * 2);
+        }
+        return true;
+    }
+
+    boolean remove(long mostSignificant, long leastSignificant) {
+        int slot = slot(mostSignificant, leastSignificant);
+        while (used[slot]) {
+            if (mostSignificantBits[slot] == mostSignificant && leastSignificantBits[slot] == leastSignificant) {
+                shiftKeys(slot);
+                size--;
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    void forEach(Visitor visitor) {
+        for (int slot = 0; slot < used.length; slot++) {
+            if (used[slot] && !visitor.visit(mostSignificantBits[slot], leastSignificantBits[slot])) {
+                return;
+            }
+        }
+    }
+
+    private void shiftKeys(int position) {
+        while (true) {
+            int last = position;
+            position = (position + 1) & mask;
+            while (true) {
+                if (!used[position]) {
+                    used[last] = false;
+                    return;
+                }
+                int slot = slot(mostSignificantBits[position], leastSignificantBits[position]);
+                if (last <= position ? last >= slot || slot > position : last >= slot && slot > position) {
+                    break;
+                }
+                position = (position + 1) & mask;
+            }
+            mostSignificantBits[last] = mostSignificantBits[position];
+            leastSignificantBits[last] = leastSignificantBits[position];
+        }
+    }
+
+    private int slot(long mostSignificant, long leastSignificant) {
+        return (int) HashCommon.mix(mostSignificant ^ leastSignificant) & mask;
+    }
+
+    private void allocate(int capacity) {
+        mostSignificantBits = new long[capacity];
+        leastSignificantBits = new long[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        resizeThreshold = HashCommon.maxFill(capacity, LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldMost = mostSignificantBits;
+        long[] oldLeast = leastSignificantBits;
+        boolean[] oldUsed = used;
+        allocate(capacity);
+        for (int oldSlot = 0; oldSlot < oldUsed.length; oldSlot++) {
+            if (!oldUsed[oldSlot]) {
+                continue;
+            }
+            int slot = slot(oldMost[oldSlot], oldLeast[oldSlot]);
+            while (used[slot]) {
+                slot = (slot + 1) & mask;
+            }
+            mostSignificantBits[slot] = oldMost[oldSlot];
+            leastSignificantBits[slot] = oldLeast[oldSlot];
+            used[slot] = true;
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        boolean visit(long mostSignificant, long leastSignificant);
+    }
+}
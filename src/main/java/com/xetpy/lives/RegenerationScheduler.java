@@ -0,0 +1,68 @@
+package com.xetpy.lives;
+
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+final class RegenerationScheduler {
+    static final long NOT_SCHEDULED = Long.MIN_VALUE;
+    private static final int COMPACT_SLACK = 64;
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparingLong(Entry::dueTick));
+    private final Object2LongOpenHashMap<UUID> dueTickByPlayer = new Object2LongOpenHashMap<>();
+
+    RegenerationScheduler() {
+        dueTickByPlayer.defaultReturnValue(NOT_SCHEDULED);
+    }
+
+    boolean isScheduled(UUID playerUuid) {
+        return dueTickByPlayer.containsKey(playerUuid);
+    }
+
+    long dueTick(UUID playerUuid) {
+        return dueTickByPlayer.getLong(playerUuid);
+    }
+
+    void schedule(UUID playerUuid, long dueTick, long now) {
+        long target = Math.max(dueTick, now + 1L);
+        if (dueTickByPlayer.put(playerUuid, target) == target) {
+            return;
+        }
+        queue.add(new Entry(target, playerUuid));
+        if (queue.size() > dueTickByPlayer.size() * 2 + COMPACT_SLACK) {
+            compact();
+        }
+    }
+
+    long cancel(UUID playerUuid) {
+        return dueTickByPlayer.removeLong(playerUuid);
+    }
+
+    void runDue(long now, Consumer<UUID> action) {
+        Entry head;
+        while ((head = queue.peek()) != null && head.dueTick() <= now) {
+            queue.poll();
+            if (dueTickByPlayer.getLong(head.playerUuid()) != head.dueTick()) {
+                continue;
+            }
+            dueTickByPlayer.removeLong(head.playerUuid());
+            action.accept(head.playerUuid());
+        }
+    }
+
+    void clear() {
+        queue.clear();
+        dueTickByPlayer.clear();
+    }
+
+    private void compact() {
+        queue.clear();
+        dueTickByPlayer.object2LongEntrySet().fastForEach(entry -> queue.add(new Entry(entry.getLongValue(), entry.getKey())));
+    }
+
+    private record Entry(long dueTick, UUID playerUuid) {
+    }
+}
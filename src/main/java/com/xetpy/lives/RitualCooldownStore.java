@@ -0,0 +1,80 @@
+package com.xetpy.lives;
+
+import com.mojang.serialization.Codec;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.datafix.DataFixTypes;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.minecraft.world.level.saveddata.SavedDataType;
+import net.minecraft.world.level.storage.DimensionDataStorage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+public class RitualCooldownStore extends SavedData {
+    private static final String STORAGE_KEY = "xetpy_ritual_cooldowns";
+    private static final Codec<RitualCooldownStore> CODEC = Codec.unboundedMap(Codec.STRING, Codec.LONG)
+            .fieldOf("cooldowns")
+            .codec()
+            .xmap(RitualCooldownStore::fromMap, RitualCooldownStore::toMap);
+    private static final SavedDataType<RitualCooldownStore> TYPE =
+            new SavedDataType<>(STORAGE_KEY, RitualCooldownStore::new, CODEC, DataFixTypes.LEVEL);
+
+    private final Object2LongOpenHashMap<UUID> cooldownUntilTick = new Object2LongOpenHashMap<>();
+
+    public RitualCooldownStore() {
+        cooldownUntilTick.defaultReturnValue(TimerWheel.NONE);
+    }
+
+    public static RitualCooldownStore get(MinecraftServer server) {
+        if (server.getLevel(Level.OVERWORLD) == null) {
+            throw new IllegalStateException("Overworld is not available");
+        }
+
+        DimensionDataStorage dataStorage = server.getLevel(Level.OVERWORLD).getDataStorage();
+        return dataStorage.computeIfAbsent(TYPE);
+    }
+
+    long get(UUID playerUuid) {
+        return cooldownUntilTick.getLong(playerUuid);
+    }
+
+    void put(UUID playerUuid, long untilTick) {
+        cooldownUntilTick.put(playerUuid, untilTick);
+        setDirty();
+    }
+
+    void remove(UUID playerUuid) {
+        if (cooldownUntilTick.removeLong(playerUuid) != TimerWheel.NONE) {
+            setDirty();
+        }
+    }
+
+    void pruneExpired(long now) {
+        if (cooldownUntilTick.object2LongEntrySet().removeIf(entry -> entry.getLongValue() <= now)) {
+            setDirty();
+        }
+    }
+
+    private static RitualCooldownStore fromMap(Map<String, Long> raw) {
+        RitualCooldownStore store = new RitualCooldownStore();
+        for (Map.Entry<String, Long> entry : raw.entrySet()) {
+            try {
+                store.cooldownUntilTick.put(UUID.fromString(entry.getKey()), entry.getValue().longValue());
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        return store;
+    }
+
+    private static Map<String, Long> toMap(RitualCooldownStore store) {
+        Map<String, Long> serialized = new HashMap<>(store.cooldownUntilTick.size() * 2);
+        for (Object2LongMap.Entry<UUID> entry : store.cooldownUntilTick.object2LongEntrySet()) {
+            serialized.put(entry.getKey().toString(), entry.getLongValue());
+        }
+        return serialized;
+    }
+}
@@ -0,0 +1,60 @@
+package com.xetpy.lives;
+
+import com.xetpy.config.RitualCost;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.world.Container;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.List;
+
+final class RitualInventory {
+    private RitualInventory() {
+    }
+
+    static boolean tryConsume(Container inventory, List<RitualCost.Requirement> requirements) {
+        if (requirements.isEmpty()) {
+            return true;
+        }
+
+        int[] remaining = new int[requirements.size()];
+        int unmet = 0;
+        for (int i = 0; i < remaining.length; i++) {
+            remaining[i] = requirements.get(i).count();
+            if (remaining[i] > 0) {
+                unmet++;
+            }
+        }
+
+        IntArrayList plannedSlots = new IntArrayList();
+        IntArrayList plannedAmounts = new IntArrayList();
+        for (int slot = 0; slot < inventory.getContainerSize() && unmet > 0; slot++) {
+            ItemStack stack = inventory.getItem(slot);
+            if (stack.isEmpty()) {
+                continue;
+            }
+            int available = stack.getCount();
+            for (int i = 0; i < remaining.length && available > 0; i++) {
+                if (remaining[i] <= 0 || !requirements.get(i).matches(stack)) {
+                    continue;
+                }
+                int take = Math.min(remaining[i], available);
+                plannedSlots.add(slot);
+                plannedAmounts.add(take);
+                available -= take;
+                remaining[i] -= take;
+                if (remaining[i] == 0) {
+                    unmet--;
+                }
+            }
+        }
+        if (unmet > 0) {
+            return false;
+        }
+
+        for (int i = 0; i < plannedSlots.size(); i++) {
+            inventory.getItem(plannedSlots.getInt(i)).shrink(plannedAmounts.getInt(i));
+        }
+        inventory.setChanged();
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package com.xetpy.lives;
+
+import com.xetpy.persistence.SnapshotWriter;
+import net.minecraft.server.MinecraftServer;
+
+final class SavedDataLivesBackend implements LivesStorageBackend {
+    private PlayerLivesStore store;
+
+    @Override
+    public PlayerLivesStore open(MinecraftServer server, SnapshotWriter writer) {
+        store = PlayerLivesStore.get(server);
+        store.openJournal(server, writer);
+        return store;
+    }
+
+    @Override
+    public void close(MinecraftServer server) {
+        if (store != null) {
+            store.closeJournal();
+            store = null;
+        }
+    }
+}
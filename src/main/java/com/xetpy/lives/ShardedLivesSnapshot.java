@@ -0,0 +1,126 @@
+package com.xetpy.lives;
+
+import com.xetpy.api.LivesDelta;
+import com.xetpy.api.LivesSnapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+final class ShardedLivesSnapshot implements LivesSnapshot {
+    private final long version;
+    private final long baseVersion;
+    private final LivesTable[] shards;
+    private final int size;
+    private final int[] counts;
+    private final AtomicReferenceArray<ChangeBatch> changeLog;
+
+    ShardedLivesSnapshot(
+            long version,
+            long baseVersion,
+            LivesTable[] shards,
+            int size,
+            int[] counts,
+            AtomicReferenceArray<ChangeBatch> changeLog
+    ) {
+        this.version = version;
+        this.baseVersion = baseVersion;
+        this.shards = shards;
+        this.size = size;
+        this.counts = counts;
+        this.changeLog = changeLog;
+    }
+
+    static ShardedLivesSnapshot empty(long version, AtomicReferenceArray<ChangeBatch> changeLog) {
+        LivesTable[] shards = new LivesTable[LivesSnapshotPublisher.SHARDS];
+        LivesTable empty = new LivesTable();
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = empty;
+        }
+        return new ShardedLivesSnapshot(version, version, shards, 0, new int[LivesRules.MAX_LIVES + 1], changeLog);
+    }
+
+    static ShardedLivesSnapshot of(LivesTable table) {
+        LivesTable[] shards = new LivesTable[LivesSnapshotPublisher.SHARDS];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new LivesTable(table.size() / LivesSnapshotPublisher.SHARDS);
+        }
+        int[] counts = new int[LivesRules.MAX_LIVES + 1];
+        table.forEach((mostSignificant, leastSignificant, lives) -> {
+            shards[LivesSnapshotPublisher.shard(mostSignificant, leastSignificant)].put(mostSignificant, leastSignificant, lives);
+            counts[lives]++;
+        });
+        return new ShardedLivesSnapshot(0L, 0L, shards, table.size(), counts, new AtomicReferenceArray<>(1));
+    }
+
+    static LivesTable toTable(LivesSnapshot snapshot) {
+        LivesTable table = new LivesTable(snapshot.size());
+        snapshot.forEach((playerUuid, lives) -> table.put(playerUuid, lives));
+        return table;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    long baseVersion() {
+        return baseVersion;
+    }
+
+    LivesTable[] shards() {
+        return shards;
+    }
+
+    @Override
+    public int lives(UUID playerUuid) {
+        long mostSignificant = playerUuid.getMostSignificantBits();
+        long leastSignificant = playerUuid.getLeastSignificantBits();
+        return shards[LivesSnapshotPublisher.shard(mostSignificant, leastSignificant)].get(mostSignificant, leastSignificant);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public int count(int lives) {
+        return lives >= 0 && lives < counts.length ? counts[lives] : 0;
+    }
+
+    @Override
+    public void forEach(Visitor visitor) {
+        for (LivesTable shard : shards) {
+            shard.forEach((mostSignificant, leastSignificant, lives) ->
+                    visitor.visit(new UUID(mostSignificant, leastSignificant), lives));
+        }
+    }
+
+    @Override
+    public LivesDelta changesSince(long fromVersion) {
+        if (fromVersion == version) {
+            return new LivesDelta(fromVersion, version, false, Map.of());
+        }
+        if (fromVersion < baseVersion || fromVersion > version
+                || version - fromVersion > LivesSnapshotPublisher.CHANGE_LOG_CAPACITY) {
+            return LivesDelta.resync(fromVersion, version);
+        }
+
+        Map<UUID, Integer> changes = new HashMap<>();
+        for (long batchVersion = fromVersion + 1L; batchVersion <= version; batchVersion++) {
+            ChangeBatch batch = changeLog.get((int) (batchVersion % LivesSnapshotPublisher.CHANGE_LOG_CAPACITY));
+            if (batch == null || batch.version() != batchVersion) {
+                return LivesDelta.resync(fromVersion, version);
+            }
+            for (int i = 0; i < batch.players().length; i++) {
+                changes.put(batch.players()[i], (int) batch.lives()[i]);
+            }
+        }
+        return new LivesDelta(fromVersion, version, false, Map.copyOf(changes));
+    }
+
+    record ChangeBatch(long version, UUID[] players, byte[] lives) {
+    }
+}
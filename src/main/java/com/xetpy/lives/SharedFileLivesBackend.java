@@ -0,0 +1,219 @@
+package com.xetpy.lives;
+
+import com.xetpy.LimitedLifes;
+import com.xetpy.persistence.SnapshotWriter;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ObjectLinkedOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import net.minecraft.server.MinecraftServer;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+final class SharedFileLivesBackend implements LivesStorageBackend {
+    private static final int FLUSH_INTERVAL_TICKS = 20;
+    private static final int READ_ONLY = -1;
+    private static final long FAILED = -1L;
+    private static final long CLOSE_TIMEOUT_SECONDS = 30L;
+
+    private final SavedDataLivesBackend local = new SavedDataLivesBackend();
+    private final SharedLivesDatabase database;
+    private final RemoteChangeListener listener;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "limited-lifes-shared-storage");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Queue<Completion> completions = new ConcurrentLinkedQueue<>();
+    private final Object2ObjectOpenHashMap<UUID, SharedLivesDatabase.Entry> synced = new Object2ObjectOpenHashMap<>();
+    private final ObjectLinkedOpenHashSet<UUID> dirty = new ObjectLinkedOpenHashSet<>();
+    private final Object2IntOpenHashMap<UUID> pendingBase = new Object2IntOpenHashMap<>();
+    private final ObjectOpenHashSet<UUID> inFlight = new ObjectOpenHashSet<>();
+    private final ObjectOpenHashSet<UUID> departed = new ObjectOpenHashSet<>();
+    private PlayerLivesStore store;
+    private int ticksUntilFlush = FLUSH_INTERVAL_TICKS;
+
+    SharedFileLivesBackend(SharedLivesDatabase database, RemoteChangeListener listener) {
+        this.database = database;
+        this.listener = listener;
+        pendingBase.defaultReturnValue(LivesRules.DEFAULT_LIVES);
+    }
+
+    @Override
+    public PlayerLivesStore open(MinecraftServer server, SnapshotWriter writer) {
+        store = local.open(server, writer);
+        store.listenForChanges(this::onLocalChange);
+        LimitedLifes.LOGGER.info("Sharing lives through {}", database.root().toAbsolutePath());
+        return store;
+    }
+
+    @Override
+    public void prefetch(UUID playerUuid) {
+        departed.remove(playerUuid);
+        if (!inFlight.add(playerUuid)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                SharedLivesDatabase.Entry entry = database.read(playerUuid);
+                completions.add(new Completion(playerUuid, entry.version(), entry.lives(), READ_ONLY));
+            } catch (IOException e) {
+                LimitedLifes.LOGGER.error("Failed to read shared lives for {}", playerUuid, e);
+                completions.add(new Completion(playerUuid, FAILED, LivesTable.ABSENT, READ_ONLY));
+            }
+        });
+    }
+
+    @Override
+    public void tick(MinecraftServer server) {
+        Completion completion;
+        while ((completion = completions.poll()) != null) {
+            applyCompletion(server, completion);
+        }
+        if (--ticksUntilFlush <= 0) {
+            ticksUntilFlush = FLUSH_INTERVAL_TICKS;
+            flush();
+        }
+    }
+
+    @Override
+    public void forget(UUID playerUuid) {
+        if (dirty.contains(playerUuid) || inFlight.contains(playerUuid)) {
+            departed.add(playerUuid);
+        } else {
+            synced.remove(playerUuid);
+        }
+    }
+
+    @Override
+    public void close(MinecraftServer server) {
+        if (store == null) {
+            return;
+        }
+        flush();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LimitedLifes.LOGGER.warn("Timed out waiting for shared lives writes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        Completion completion;
+        while ((completion = completions.poll()) != null) {
+            resolve(completion);
+        }
+        for (UUID playerUuid : dirty) {
+            int target = store.peekLives(playerUuid);
+            if (target == LivesTable.ABSENT) {
+                continue;
+            }
+            try {
+                database.write(playerUuid, baseFor(playerUuid), target);
+            } catch (IOException e) {
+                LimitedLifes.LOGGER.error("Failed to write shared lives for {}", playerUuid, e);
+            }
+        }
+        dirty.clear();
+        pendingBase.clear();
+        synced.clear();
+        departed.clear();
+        store.listenForChanges(null);
+        store = null;
+        local.close(server);
+    }
+
+    private void applyCompletion(MinecraftServer server, Completion completion) {
+        int previous = resolve(completion);
+        if (previous != LivesTable.ABSENT) {
+            listener.onRemoteChange(server, completion.playerUuid(), previous, store.peekLives(completion.playerUuid()));
+        }
+    }
+
+    private int resolve(Completion completion) {
+        UUID playerUuid = completion.playerUuid();
+        inFlight.remove(playerUuid);
+        if (completion.version() == FAILED) {
+            if (completion.submitted() != READ_ONLY) {
+                dirty.add(playerUuid);
+                pendingBase.put(playerUuid, completion.lives());
+            }
+            return LivesTable.ABSENT;
+        }
+        if (completion.version() == SharedLivesDatabase.Entry.ABSENT.version() || store == null) {
+            releaseDeparted(playerUuid);
+            return LivesTable.ABSENT;
+        }
+        synced.put(playerUuid, new SharedLivesDatabase.Entry(completion.version(), completion.lives()));
+
+        int current = store.peekLives(playerUuid);
+        int derivedFrom = completion.submitted() == READ_ONLY ? pendingBase.getInt(playerUuid) : completion.submitted();
+        boolean changedLocally = completion.submitted() == READ_ONLY
+                ? dirty.contains(playerUuid)
+                : current != completion.submitted();
+        int resolved = changedLocally
+                ? LivesRules.clampLives(completion.lives() + current - derivedFrom)
+                : completion.lives();
+        if (dirty.contains(playerUuid)) {
+            pendingBase.put(playerUuid, completion.lives());
+        }
+        releaseDeparted(playerUuid);
+        return current == resolved ? LivesTable.ABSENT : store.applyShared(playerUuid, resolved);
+    }
+
+    private void onLocalChange(UUID playerUuid, int previous) {
+        if (dirty.add(playerUuid)) {
+            pendingBase.put(playerUuid, previous);
+        }
+    }
+
+    private SharedLivesDatabase.Entry baseFor(UUID playerUuid) {
+        SharedLivesDatabase.Entry base = synced.get(playerUuid);
+        return base != null
+                ? base
+                : new SharedLivesDatabase.Entry(SharedLivesDatabase.Entry.ABSENT.version(), pendingBase.getInt(playerUuid));
+    }
+
+    private void releaseDeparted(UUID playerUuid) {
+        if (!dirty.contains(playerUuid) && departed.remove(playerUuid)) {
+            synced.remove(playerUuid);
+        }
+    }
+
+    private void flush() {
+        ObjectIterator<UUID> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            UUID playerUuid = iterator.next();
+            if (inFlight.contains(playerUuid)) {
+                continue;
+            }
+            iterator.remove();
+            int target = store.peekLives(playerUuid);
+            SharedLivesDatabase.Entry base = baseFor(playerUuid);
+            pendingBase.removeInt(playerUuid);
+            if (target == LivesTable.ABSENT) {
+                continue;
+            }
+            inFlight.add(playerUuid);
+            executor.execute(() -> {
+                try {
+                    SharedLivesDatabase.Entry written = database.write(playerUuid, base, target);
+                    completions.add(new Completion(playerUuid, written.version(), written.lives(), target));
+                } catch (IOException e) {
+                    LimitedLifes.LOGGER.error("Failed to write shared lives for {}", playerUuid, e);
+                    completions.add(new Completion(playerUuid, FAILED, base.lives(), target));
+                }
+            });
+        }
+    }
+
+    private record Completion(UUID playerUuid, long version, int lives, int submitted) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.xetpy.lives;
+
+import com.xetpy.LimitedLifes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+final class SharedLivesDatabase {
+    private static final int FORMAT = 1;
+    private static final int RECORD_BYTES = Integer.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES;
+    private static final String EXTENSION = ".lives";
+
+    private final Path root;
+
+    SharedLivesDatabase(Path root) {
+        this.root = root;
+    }
+
+    Path root() {
+        return root;
+    }
+
+    Entry read(UUID playerUuid) throws IOException {
+        try (FileChannel channel = FileChannel.open(path(playerUuid), StandardOpenOption.READ);
+             FileLock ignored = channel.lock(0L, Long.MAX_VALUE, true)) {
+            return readRecord(channel, playerUuid);
+        } catch (NoSuchFileException e) {
+            return Entry.ABSENT;
+        }
+    }
+
+    Entry write(UUID playerUuid, Entry base, int target) throws IOException {
+        Path path = path(playerUuid);
+        Files.createDirectories(path.getParent());
+        try (FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE
+        ); FileLock ignored = channel.lock()) {
+            Entry current = readRecord(channel, playerUuid);
+            int resolved = current.version() == base.version()
+                    ? target
+                    : LivesRules.clampLives(current.lives() + target - base.lives());
+            Entry written = new Entry(current.version() + 1L, resolved);
+            writeRecord(channel, written);
+            return written;
+        }
+    }
+
+    private Path path(UUID playerUuid) {
+        String id = playerUuid.toString();
+        return root.resolve(id.substring(0, 2)).resolve(id + EXTENSION);
+    }
+
+    private static Entry readRecord(FileChannel channel, UUID playerUuid) throws IOException {
+        if (channel.size() < RECORD_BYTES) {
+            return Entry.ABSENT;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                return Entry.ABSENT;
+            }
+        }
+        buffer.flip();
+        int format = buffer.getInt();
+        long version = buffer.getLong();
+        int lives = buffer.getInt();
+        long checksum = buffer.getLong();
+        if (format != FORMAT || checksum != checksum(version, lives)) {
+            LimitedLifes.LOGGER.warn("Ignoring corrupt shared lives record for {}", playerUuid);
+            return Entry.ABSENT;
+        }
+        return new Entry(version, LivesRules.clampLives(lives));
+    }
+
+    private static void writeRecord(FileChannel channel, Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_BYTES);
+        buffer.putInt(FORMAT).putLong(entry.version()).putInt(entry.lives()).putLong(checksum(entry.version(), entry.lives()));
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, buffer.position());
+        }
+        channel.truncate(RECORD_BYTES);
+        channel.force(false);
+    }
+
+    private static long checksum(long version, int lives) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(version).putInt(lives).flip());
+        return crc.getValue();
+    }
+
+    record Entry(long version, int lives) {
+        static final Entry ABSENT = new Entry(0L, LivesRules.DEFAULT_LIVES);
+    }
+}
@@ -0,0 +1,144 @@
+package com.xetpy.lives;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+final class TimerWheel {
+    static final long NONE = Long.MIN_VALUE;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final int OVERFLOW_BUCKET = LEVELS * SLOTS;
+    private static final long REBUILD_AFTER_TICKS = SLOTS * SLOTS;
+
+    private final List<ObjectOpenHashSet<UUID>> buckets = new ArrayList<>(OVERFLOW_BUCKET + 1);
+    private final Object2LongOpenHashMap<UUID> expiresAtByKey = new Object2LongOpenHashMap<>();
+    private final Object2IntOpenHashMap<UUID> bucketByKey = new Object2IntOpenHashMap<>();
+    private final List<UUID> drained = new ArrayList<>();
+    private final Consumer<UUID> onExpired;
+    private long currentTick = NONE;
+
+    TimerWheel(Consumer<UUID> onExpired) {
+        this.onExpired = onExpired;
+        for (int i = 0; i <= OVERFLOW_BUCKET; i++) {
+            buckets.add(new ObjectOpenHashSet<>());
+        }
+        expiresAtByKey.defaultReturnValue(NONE);
+    }
+
+    long get(UUID key) {
+        return expiresAtByKey.getLong(key);
+    }
+
+    void set(UUID key, long expiresAt, long now) {
+        advance(now);
+        remove(key);
+        if (expiresAt <= currentTick) {
+            return;
+        }
+        expiresAtByKey.put(key, expiresAt);
+        place(key, expiresAt);
+    }
+
+    void remove(UUID key) {
+        if (expiresAtByKey.removeLong(key) != NONE) {
+            buckets.get(bucketByKey.removeInt(key)).remove(key);
+        }
+    }
+
+    int size() {
+        return expiresAtByKey.size();
+    }
+
+    void advance(long now) {
+        if (currentTick == NONE || now - currentTick > REBUILD_AFTER_TICKS || now < currentTick) {
+            rebuild(now);
+            return;
+        }
+        while (currentTick < now) {
+            currentTick++;
+            tickOnce();
+        }
+    }
+
+    private void tickOnce() {
+        int crossedLevels = 0;
+        while (crossedLevels < LEVELS && (currentTick & ((1L << (SLOT_BITS * (crossedLevels + 1))) - 1)) == 0) {
+            crossedLevels++;
+        }
+        if (crossedLevels == LEVELS) {
+            drain(buckets.get(OVERFLOW_BUCKET));
+        }
+        for (int level = Math.min(crossedLevels, LEVELS - 1); level >= 1; level--) {
+            drain(buckets.get(level * SLOTS + slot(currentTick, level)));
+        }
+        drain(buckets.get(slot(currentTick, 0)));
+    }
+
+    private void drain(ObjectOpenHashSet<UUID> bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        drained.addAll(bucket);
+        bucket.clear();
+        try {
+            for (UUID key : drained) {
+                long expiresAt = expiresAtByKey.getLong(key);
+                if (expiresAt <= currentTick) {
+                    expiresAtByKey.removeLong(key);
+                    bucketByKey.removeInt(key);
+                    onExpired.accept(key);
+                } else {
+                    place(key, expiresAt);
+                }
+            }
+        } finally {
+            drained.clear();
+        }
+    }
+
+    private void rebuild(long now) {
+        currentTick = now;
+        for (ObjectOpenHashSet<UUID> bucket : buckets) {
+            bucket.clear();
+        }
+        bucketByKey.clear();
+        ObjectIterator<Object2LongMap.Entry<UUID>> iterator = expiresAtByKey.object2LongEntrySet().fastIterator();
+        while (iterator.hasNext()) {
+            Object2LongMap.Entry<UUID> entry = iterator.next();
+            if (entry.getLongValue() <= now) {
+                UUID key = entry.getKey();
+                iterator.remove();
+                onExpired.accept(key);
+            } else {
+                place(entry.getKey(), entry.getLongValue());
+            }
+        }
+    }
+
+    private void place(UUID key, long expiresAt) {
+        long delta = Math.max(1L, expiresAt - currentTick);
+        int bucketIndex = OVERFLOW_BUCKET;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                bucketIndex = level * SLOTS + slot(Math.max(expiresAt, currentTick + 1L), level);
+                break;
+            }
+        }
+        bucketByKey.put(key, bucketIndex);
+        buckets.get(bucketIndex).add(key);
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+}
@@ -0,0 +1,67 @@
+package com.xetpy.metrics;
+
+import jdk.jfr.EventType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LivesMetrics {
+    private static final EventType PHASE_EVENT_TYPE = EventType.getEventType(LivesPhaseEvent.class);
+    private static final int TICKS_PER_SECOND = 20;
+    private static final LongAdder EFFECT_PACKETS = new LongAdder();
+    private static final Map<String, LongAdder> DEATHS_BY_CAUSE = new ConcurrentHashMap<>();
+    private static long effectPacketsAtLastSecond;
+    private static volatile long effectPacketsPerSecond;
+
+    private LivesMetrics() {
+    }
+
+    public static long begin() {
+        return System.nanoTime();
+    }
+
+    public static void end(LivesPhase phase, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        phase.stats().record(elapsed);
+        if (PHASE_EVENT_TYPE.isEnabled()) {
+            LivesPhaseEvent event = new LivesPhaseEvent();
+            event.phase = phase.id();
+            event.durationNanos = elapsed;
+            event.commit();
+        }
+    }
+
+    public static void effectPacketSent() {
+        EFFECT_PACKETS.increment();
+    }
+
+    public static void death(String cause) {
+        DEATHS_BY_CAUSE.computeIfAbsent(cause, ignored -> new LongAdder()).increment();
+    }
+
+    static Map<String, LongAdder> deathsByCause() {
+        return DEATHS_BY_CAUSE;
+    }
+
+    public static void ritual(RitualOutcome outcome) {
+        outcome.increment();
+    }
+
+    public static long effectPacketsTotal() {
+        return EFFECT_PACKETS.sum();
+    }
+
+    public static long effectPacketsPerSecond() {
+        return effectPacketsPerSecond;
+    }
+
+    public static void onServerTick(int tickCount) {
+        if (tickCount % TICKS_PER_SECOND != 0) {
+            return;
+        }
+        long total = EFFECT_PACKETS.sum();
+        effectPacketsPerSecond = total - effectPacketsAtLastSecond;
+        effectPacketsAtLastSecond = total;
+    }
+}
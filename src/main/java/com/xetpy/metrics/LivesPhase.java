@@ -0,0 +1,27 @@
+package com.xetpy.metrics;
+
+public enum LivesPhase {
+    DIFFICULTY_TICK("difficulty_tick"),
+    RITUAL("ritual"),
+    DEATH("death"),
+    STORE_ENCODE("store_encode"),
+    STORE_DECODE("store_decode"),
+    SERVER_TICK("server_tick"),
+    SNAPSHOT_PUBLISH("snapshot_publish"),
+    NOTIFICATION_FLUSH("notification_flush");
+
+    private final String id;
+    private final PhaseStats stats = new PhaseStats();
+
+    LivesPhase(String id) {
+        this.id = id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public PhaseStats stats() {
+        return stats;
+    }
+}
@@ -0,0 +1,22 @@
+package com.xetpy.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("xetpy.LivesPhase")
+@Label("Limited Lifes Phase")
+@Category("Limited Lifes")
+@Description("Time spent in one of the mod's instrumented phases")
+@StackTrace(false)
+final class LivesPhaseEvent extends jdk.jfr.Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long durationNanos;
+}
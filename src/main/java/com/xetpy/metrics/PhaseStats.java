@@ -0,0 +1,83 @@
+package com.xetpy.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class PhaseStats {
+    private static final int WINDOW = 1024;
+    static final long[] BUCKET_BOUNDS_NANOS = {
+            1_000L, 5_000L, 10_000L, 50_000L, 100_000L, 500_000L, 1_000_000L, 5_000_000L, 10_000_000L, 50_000_000L
+    };
+
+    private final long[] samples = new long[WINDOW];
+    private volatile long written;
+    private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_NANOS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    PhaseStats() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanos) {
+        buckets[bucketFor(nanos)].increment();
+        sumNanos.add(nanos);
+        recordWindow(nanos);
+    }
+
+    private void recordWindow(long nanos) {
+        long index = written;
+        samples[(int) index & (WINDOW - 1)] = nanos;
+        written = index + 1;
+    }
+
+    public Snapshot snapshot() {
+        long[] window = Arrays.copyOf(samples, (int) Math.min(written, WINDOW));
+        Histogram histogram = histogram();
+        Arrays.sort(window);
+        return new Snapshot(
+                window.length,
+                percentile(window, 0.50),
+                percentile(window, 0.99),
+                histogram.count(),
+                histogram.sumNanos()
+        );
+    }
+
+    public Histogram histogram() {
+        long[] cumulative = new long[buckets.length];
+        long running = 0L;
+        for (int i = 0; i < buckets.length; i++) {
+            running += buckets[i].sum();
+            cumulative[i] = running;
+        }
+        return new Histogram(cumulative, sumNanos.sum());
+    }
+
+    private static int bucketFor(long nanos) {
+        for (int i = 0; i < BUCKET_BOUNDS_NANOS.length; i++) {
+            if (nanos <= BUCKET_BOUNDS_NANOS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_NANOS.length;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0L;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    public record Snapshot(int windowSamples, long p50Nanos, long p99Nanos, long totalCount, long totalNanos) {
+    }
+
+    public record Histogram(long[] cumulativeCounts, long sumNanos) {
+        public long count() {
+            return cumulativeCounts[cumulativeCounts.length - 1];
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.xetpy.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.xetpy.LimitedLifes;
+import com.xetpy.api.LimitedLifesApi;
+import com.xetpy.api.LivesSnapshot;
+import com.xetpy.config.HardcoreConfig;
+import com.xetpy.lives.LivesRules;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+public final class PrometheusExporter {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0D;
+
+    private final BooleanSupplier debtModeEnabled;
+    private HttpServer server;
+    private ExecutorService executor;
+    private HardcoreConfig.MetricsSettings active;
+
+    public PrometheusExporter(BooleanSupplier debtModeEnabled) {
+        this.debtModeEnabled = debtModeEnabled;
+    }
+
+    public synchronized void apply(HardcoreConfig.MetricsSettings settings) {
+        HardcoreConfig.MetricsSettings target = settings.enabled() ? settings : null;
+        if (target == null ? active == null : target.equals(active)) {
+            return;
+        }
+        stop();
+        if (target == null) {
+            return;
+        }
+        try {
+            HttpServer created = HttpServer.create(new InetSocketAddress(target.bindAddress(), target.port()), 0);
+            ExecutorService createdExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "limited-lifes-metrics");
+                thread.setDaemon(true);
+                return thread;
+            });
+            created.createContext("/metrics", this::handle);
+            created.setExecutor(createdExecutor);
+            created.start();
+            server = created;
+            executor = createdExecutor;
+            active = target;
+            LimitedLifes.LOGGER.info("Serving Prometheus metrics on {}:{}/metrics", target.bindAddress(), target.port());
+        } catch (IOException | IllegalArgumentException e) {
+            LimitedLifes.LOGGER.error("Failed to start metrics exporter on {}:{}", target.bindAddress(), target.port(), e);
+        }
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+        }
+        active = null;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        }
+    }
+
+    String render() {
+        StringBuilder out = new StringBuilder(4096);
+        LivesSnapshot snapshot = LimitedLifesApi.snapshot();
+
+        header(out, "limited_lifes_players", "gauge", "Stored players by remaining lives.");
+        for (int lives = LivesRules.MIN_LIVES; lives <= LivesRules.MAX_LIVES; lives++) {
+            out.append("limited_lifes_players{lives=\"").append(lives).append("\"} ").append(snapshot.count(lives)).append('\n');
+        }
+
+        header(out, "limited_lifes_store_players", "gauge", "Players known to the lives store.");
+        out.append("limited_lifes_store_players ").append(snapshot.size()).append('\n');
+
+        header(out, "limited_lifes_debt_mode_players", "gauge", "Stored players currently in debt mode.");
+        int debtPlayers = debtModeEnabled.getAsBoolean() ? snapshot.count(LivesRules.MIN_LIVES) : 0;
+        out.append("limited_lifes_debt_mode_players ").append(debtPlayers).append('\n');
+
+        header(out, "limited_lifes_deaths_total", "counter", "Player deaths by damage type.");
+        for (Map.Entry<String, LongAdder> entry : LivesMetrics.deathsByCause().entrySet()) {
+            out.append("limited_lifes_deaths_total{cause=\"").append(escape(entry.getKey())).append("\"} ")
+                    .append(entry.getValue().sum()).append('\n');
+        }
+
+        long attempts = 0L;
+        for (RitualOutcome outcome : RitualOutcome.values()) {
+            attempts += outcome.total();
+        }
+        header(out, "limited_lifes_ritual_attempts_total", "counter", "Ritual attempts on the altar.");
+        out.append("limited_lifes_ritual_attempts_total ").append(attempts).append('\n');
+        header(out, "limited_lifes_ritual_successes_total", "counter", "Rituals that restored a life.");
+        out.append("limited_lifes_ritual_successes_total ").append(RitualOutcome.SUCCESS.total()).append('\n');
+        header(out, "limited_lifes_ritual_failures_total", "counter", "Rejected rituals by reason.");
+        for (RitualOutcome outcome : RitualOutcome.values()) {
+            if (outcome != RitualOutcome.SUCCESS) {
+                out.append("limited_lifes_ritual_failures_total{reason=\"").append(outcome.id()).append("\"} ")
+                        .append(outcome.total()).append('\n');
+            }
+        }
+
+        header(out, "limited_lifes_effect_packets_total", "counter", "Effect packets sent by difficulty modifiers.");
+        out.append("limited_lifes_effect_packets_total ").append(LivesMetrics.effectPacketsTotal()).append('\n');
+
+        header(out, "limited_lifes_phase_duration_seconds", "histogram", "Time spent in the mod's instrumented phases.");
+        for (LivesPhase phase : LivesPhase.values()) {
+            PhaseStats.Histogram histogram = phase.stats().histogram();
+            long[] cumulative = histogram.cumulativeCounts();
+            for (int i = 0; i < PhaseStats.BUCKET_BOUNDS_NANOS.length; i++) {
+                out.append("limited_lifes_phase_duration_seconds_bucket{phase=\"").append(phase.id())
+                        .append("\",le=\"").append(PhaseStats.BUCKET_BOUNDS_NANOS[i] / NANOS_PER_SECOND).append("\"} ")
+                        .append(cumulative[i]).append('\n');
+            }
+            out.append("limited_lifes_phase_duration_seconds_bucket{phase=\"").append(phase.id())
+                    .append("\",le=\"+Inf\"} ").append(histogram.count()).append('\n');
+            out.append("limited_lifes_phase_duration_seconds_sum{phase=\"").append(phase.id()).append("\"} ")
+                    .append(histogram.sumNanos() / NANOS_PER_SECOND).append('\n');
+            out.append("limited_lifes_phase_duration_seconds_count{phase=\"").append(phase.id()).append("\"} ")
+                    .append(histogram.count()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,29 @@
+package com.xetpy.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public enum RitualOutcome {
+    SUCCESS("success"),
+    COOLDOWN("cooldown"),
+    FULL_LIVES("full_lives"),
+    MISSING_RESOURCES("missing_resources");
+
+    private final String id;
+    private final LongAdder count = new LongAdder();
+
+    RitualOutcome(String id) {
+        this.id = id;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public long total() {
+        return count.sum();
+    }
+
+    void increment() {
+        count.increment();
+    }
+}
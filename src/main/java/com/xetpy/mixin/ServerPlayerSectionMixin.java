@@ -0,0 +1,17 @@
+package com.xetpy.mixin;
+
+import com.xetpy.LimitedLifes;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerPlayer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(ServerPlayer.class)
+public class ServerPlayerSectionMixin {
+	@Inject(at = @At("TAIL"), method = "setLastSectionPos")
+	private void limitedLifes$onSectionChanged(SectionPos sectionPos, CallbackInfo info) {
+		LimitedLifes.livesService().onSectionChanged((ServerPlayer) (Object) this, sectionPos);
+	}
+}
@@ -0,0 +1,23 @@
+package com.xetpy.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.Identifier;
+
+public record LivesSyncPayload(int lives, int maxLives, int tierIndex) implements CustomPacketPayload {
+    public static final Type<LivesSyncPayload> TYPE =
+            new Type<>(Identifier.fromNamespaceAndPath("limited-lifes", "lives_sync"));
+    public static final StreamCodec<ByteBuf, LivesSyncPayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_INT, LivesSyncPayload::lives,
+            ByteBufCodecs.VAR_INT, LivesSyncPayload::maxLives,
+            ByteBufCodecs.VAR_INT, LivesSyncPayload::tierIndex,
+            LivesSyncPayload::new
+    );
+
+    @Override
+    public Type<LivesSyncPayload> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,22 @@
+package com.xetpy.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.Identifier;
+
+import java.util.List;
+
+public record LivesTiersPayload(List<String> tierIds) implements CustomPacketPayload {
+    public static final Type<LivesTiersPayload> TYPE =
+            new Type<>(Identifier.fromNamespaceAndPath("limited-lifes", "lives_tiers"));
+    public static final StreamCodec<ByteBuf, LivesTiersPayload> STREAM_CODEC = ByteBufCodecs.STRING_UTF8
+            .apply(ByteBufCodecs.list())
+            .map(LivesTiersPayload::new, LivesTiersPayload::tierIds);
+
+    @Override
+    public Type<LivesTiersPayload> type() {
+        return TYPE;
+    }
+}
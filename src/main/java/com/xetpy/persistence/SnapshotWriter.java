@@ -0,0 +1,140 @@
+package com.xetpy.persistence;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.xetpy.LimitedLifes;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.NbtAccounter;
+import net.minecraft.nbt.NbtIo;
+import net.minecraft.nbt.NbtOps;
+import net.minecraft.nbt.NbtUtils;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.level.storage.LevelResource;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public final class SnapshotWriter {
+    private static final String DATA_DIRECTORY = "data";
+    private static final String DATA_KEY = "data";
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "limited-lifes-snapshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<Path, PendingWrite<?>> pendingByTarget = new HashMap<>();
+
+    public static Path dataDirectory(MinecraftServer server) {
+        return server.getWorldPath(LevelResource.ROOT).resolve(DATA_DIRECTORY);
+    }
+
+    public <T> void submit(Path target, Codec<T> codec, T snapshot, Runnable onDurable) {
+        synchronized (pendingByTarget) {
+            @SuppressWarnings("unchecked")
+            PendingWrite<T> pending = (PendingWrite<T>) pendingByTarget.get(target);
+            if (pending != null && pending.codec == codec) {
+                pending.snapshot = snapshot;
+                pending.onDurable.add(onDurable);
+                return;
+            }
+            pending = new PendingWrite<>(codec, snapshot);
+            pending.onDurable.add(onDurable);
+            pendingByTarget.put(target, pending);
+        }
+        executor.execute(() -> write(target));
+    }
+
+    public static <T> DataResult<T> read(Path source, Codec<T> codec) throws IOException {
+        CompoundTag root = NbtIo.readCompressed(source, NbtAccounter.unlimitedHeap());
+        Tag data = root.get(DATA_KEY);
+        if (data == null) {
+            return DataResult.error(() -> "Missing data in " + source);
+        }
+        return codec.parse(NbtOps.INSTANCE, data);
+    }
+
+    public void delete(Path target) {
+        synchronized (pendingByTarget) {
+            pendingByTarget.remove(target);
+        }
+        executor.execute(() -> {
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException e) {
+                LimitedLifes.LOGGER.warn("Failed to delete snapshot {}", target, e);
+            }
+        });
+    }
+
+    public void flush() {
+        try {
+            executor.submit(() -> {
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            LimitedLifes.LOGGER.error("Snapshot writer failed while flushing", e);
+        }
+    }
+
+    private void write(Path target) {
+        PendingWrite<?> pending;
+        synchronized (pendingByTarget) {
+            pending = pendingByTarget.remove(target);
+        }
+        if (pending == null) {
+            return;
+        }
+
+        try {
+            writeAtomically(target, pending.encode());
+        } catch (IOException | RuntimeException e) {
+            LimitedLifes.LOGGER.error("Failed to write snapshot {}", target, e);
+            return;
+        }
+        for (Runnable callback : pending.onDurable) {
+            callback.run();
+        }
+    }
+
+    private static void writeAtomically(Path target, CompoundTag root) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        NbtIo.writeCompressed(root, temporary);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static final class PendingWrite<T> {
+        private final Codec<T> codec;
+        private final List<Runnable> onDurable = new ArrayList<>();
+        private T snapshot;
+
+        private PendingWrite(Codec<T> codec, T snapshot) {
+            this.codec = codec;
+            this.snapshot = snapshot;
+        }
+
+        private CompoundTag encode() {
+            Tag data = codec.encodeStart(NbtOps.INSTANCE, snapshot).getOrThrow();
+            CompoundTag root = new CompoundTag();
+            root.put(DATA_KEY, data);
+            return NbtUtils.addCurrentDataVersion(root);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.xetpy.lives;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerSetTest {
+    @Test
+    void matchesHashSetUnderRandomAddsAndRemoves() {
+        Random random = new Random(42L);
+        PlayerSet players = new PlayerSet();
+        Set<Long> expected = new HashSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            long key = random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                assertEquals(expected.add(key), players.add(key, ~key), "add " + key);
+            } else {
+                assertEquals(expected.remove(key), players.remove(key, ~key), "remove " + key);
+            }
+            assertEquals(expected.size(), players.size());
+        }
+
+        Set<Long> visited = new HashSet<>();
+        players.forEach((mostSignificant, leastSignificant) -> {
+            assertEquals(~mostSignificant, leastSignificant);
+            assertTrue(visited.add(mostSignificant));
+            return true;
+        });
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void forEachStopsWhenVisitorDeclines() {
+        PlayerSet players = new PlayerSet();
+        for (long key = 0; key < 100; key++) {
+            players.add(key, key);
+        }
+        int[] visited = {0};
+        players.forEach((mostSignificant, leastSignificant) -> ++visited[0] < 10);
+        assertEquals(10, visited[0]);
+    }
+}
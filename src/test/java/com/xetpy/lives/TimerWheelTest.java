@@ -0,0 +1,42 @@
+package com.xetpy.lives;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimerWheelTest {
+    @Test
+    void expiresOnTimeAtLevelBoundaries() {
+        for (long expiresAt : new long[]{1L, 63L, 64L, 65L, 128L, 4095L, 4096L, 4097L}) {
+            assertEquals(expiresAt, firedAt(expiresAt), "entry due at tick " + expiresAt);
+        }
+    }
+
+    @Test
+    void expiresOnTimeWhenScheduledMidLevel() {
+        List<Long> fired = new ArrayList<>();
+        long[] now = {10L};
+        TimerWheel wheel = new TimerWheel(key -> fired.add(now[0]));
+        wheel.set(UUID.randomUUID(), 128L, now[0]);
+        while (now[0] < 200L) {
+            wheel.advance(++now[0]);
+        }
+        assertEquals(List.of(128L), fired);
+    }
+
+    private static long firedAt(long expiresAt) {
+        List<Long> fired = new ArrayList<>();
+        long[] now = {0L};
+        TimerWheel wheel = new TimerWheel(key -> fired.add(now[0]));
+        wheel.set(UUID.randomUUID(), expiresAt, now[0]);
+        while (fired.isEmpty() && now[0] < expiresAt + 2L) {
+            wheel.advance(++now[0]);
+        }
+        assertEquals(1, fired.size());
+        return fired.get(0);
+    }
+}